@@ -3,11 +3,14 @@ package com.mykulle.booking.system.catalog;
 
 import org.jmolecules.event.annotation.DomainEvent;
 
+import java.util.List;
+
 @DomainEvent
 public interface RoomCatalogEvent {
 
     record RoomOperationalStatusChanged(Long roomId, String operationalStatus) implements RoomCatalogEvent{}
     record RoomAddedToCatalog(Long roomId, String name, String roomLocation, String type, String operationalStatus) implements RoomCatalogEvent{}
     record RoomRemovedFromCatalog(Long roomId) implements RoomCatalogEvent {}
+    record RoomsImportedToCatalog(List<RoomAddedToCatalog> rooms) implements RoomCatalogEvent {}
 }
 
@@ -9,10 +9,19 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Transactional
@@ -20,10 +29,14 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class CatalogManagement {
 
+    static final int IMPORT_CHUNK_SIZE = 50;
+    static final int MAX_IMPORT_ROWS = 5_000;
+
     private final CatalogRepository catalogRepository;
     private final RoomMapper mapper;
     private final ApplicationEventPublisher events;
     private final AuthorizationService authorizationService;
+    private final CatalogReadCache cache;
 
     /**
      * Adds a new room to the catalog
@@ -43,6 +56,47 @@ public class CatalogManagement {
         return mapper.toDTO(saved);
     }
 
+    /**
+     * Imports rooms in chunks of {@value #IMPORT_CHUNK_SIZE}, each saved as one batch.
+     * Invalid rows and rows whose location already exists are reported and skipped; the other rows are imported.
+     * The reservation side is notified with one {@link RoomsImportedToCatalog} event for the whole import.
+     */
+    public RoomImportResult importRooms(Stream<RoomImportRow> rows) {
+        authorizationService.requireStaff();
+        var errors = new ArrayList<RoomImportResult.RowError>();
+        var imported = new ArrayList<RoomAddedToCatalog>();
+        var locations = new HashSet<String>();
+        var chunk = new LinkedHashMap<Integer, CatalogRoom>();
+        var count = 0;
+
+        for (var iterator = rows.iterator(); iterator.hasNext(); ) {
+            var row = iterator.next();
+            if (++count > MAX_IMPORT_ROWS) {
+                throw new IllegalArgumentException("An import may contain at most " + MAX_IMPORT_ROWS + " rooms");
+            }
+            try {
+                var room = new CatalogRoom(new RoomProfile(row.name(), new RoomLocation(row.roomLocation()), parseType(row.type())));
+                if (!locations.add(room.getProfile().roomLocation().value())) {
+                    throw new IllegalArgumentException("Duplicate room location in import: " + row.roomLocation());
+                }
+                chunk.put(row.line(), room);
+            } catch (IllegalArgumentException e) {
+                errors.add(new RoomImportResult.RowError(row.line(), e.getMessage()));
+            }
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                saveChunk(chunk, imported, errors);
+            }
+        }
+        saveChunk(chunk, imported, errors);
+
+        if (!imported.isEmpty()) {
+            events.publishEvent(new RoomsImportedToCatalog(List.copyOf(imported)));
+        }
+        errors.sort(Comparator.comparingInt(RoomImportResult.RowError::line));
+        log.info("Imported {} rooms into the catalog, rejected {} rows", imported.size(), errors.size());
+        return new RoomImportResult(imported.size(), errors);
+    }
+
     /**
      * Removes a room from the catalog
      */
@@ -57,56 +111,69 @@ public class CatalogManagement {
         events.publishEvent(new RoomRemovedFromCatalog(roomId));
     }
 
+    /*
+     * Catalog reads are served from the CatalogReadCache. They join a surrounding transaction
+     * but do not open one, so a cache hit does not borrow a database connection.
+     */
+
     /**
      * Locates a room by its ID
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<RoomDTO> locateRoomById(Long roomId) {
-        return catalogRepository.findById(roomId)
-                .map(mapper::toDTO);
+        return cache.get(CatalogReadCache.Key.id(roomId), () -> catalogRepository.findById(roomId)
+                        .map(mapper::toDTO)
+                        .stream()
+                        .toList())
+                .stream()
+                .findFirst();
     }
 
     /**
      * Locates a room by its location
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<RoomDTO> locateRoom(String roomLocation) {
-        return catalogRepository.findByProfileRoomLocationValue(roomLocation)
-                .map(mapper::toDTO);
+        return cache.get(CatalogReadCache.Key.location(roomLocation), () -> catalogRepository.findByProfileRoomLocationValue(roomLocation)
+                        .map(mapper::toDTO)
+                        .stream()
+                        .toList())
+                .stream()
+                .findFirst();
     }
 
 
     /**
      * Locates rooms by their type
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<RoomDTO> locateRoomsByType(CatalogRoom.RoomType roomType) {
-        return catalogRepository.findByProfileRoomType(roomType)
+        return cache.get(CatalogReadCache.Key.type(roomType.name()), () -> catalogRepository.findByProfileRoomType(roomType)
                 .stream()
                 .map(mapper::toDTO)
-                .toList();
+                .toList());
     }
 
     /**
      * Fetch enabled rooms for booking
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<RoomDTO> fetchEnabledRooms() {
-        return catalogRepository.findByOperationalStatus(CatalogRoom.OperationalStatus.ENABLED)
+        return cache.get(CatalogReadCache.Key.enabled(), () -> catalogRepository.findByOperationalStatus(CatalogRoom.OperationalStatus.ENABLED)
                 .stream()
                 .map(mapper::toDTO)
-                .toList();
+                .toList());
     }
 
     /**
      * Fetch all rooms in the catalog
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<RoomDTO> fetchRooms() {
-        return catalogRepository.findAll()
+        return cache.get(CatalogReadCache.Key.all(), () -> catalogRepository.findAll()
                 .stream()
                 .map(mapper::toDTO)
-                .toList();
+                .toList());
     }
 
     /**
@@ -141,5 +208,44 @@ public class CatalogManagement {
         return mapper.toDTO(saved);
     }
 
+    private void saveChunk(Map<Integer, CatalogRoom> chunk, List<RoomAddedToCatalog> imported, List<RoomImportResult.RowError> errors) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        var taken = catalogRepository.findByProfileRoomLocationValueIn(chunk.values().stream()
+                        .map(room -> room.getProfile().roomLocation().value())
+                        .toList())
+                .stream()
+                .map(room -> room.getProfile().roomLocation().value())
+                .collect(Collectors.toSet());
+        chunk.entrySet().removeIf(entry -> {
+            var location = entry.getValue().getProfile().roomLocation().value();
+            if (taken.contains(location)) {
+                errors.add(new RoomImportResult.RowError(entry.getKey(), "Room location already exists: " + location));
+                return true;
+            }
+            return false;
+        });
+
+        catalogRepository.saveAll(chunk.values()).forEach(saved -> imported.add(new RoomAddedToCatalog(
+                saved.getId(),
+                saved.getProfile().name(),
+                saved.getProfile().roomLocation().value(),
+                saved.getProfile().roomType().name(),
+                saved.getOperationalStatus().name()
+        )));
+        chunk.clear();
+    }
 
+    private static RoomType parseType(String type) {
+        if (type == null || type.isBlank()) {
+            throw new IllegalArgumentException("Room type is required");
+        }
+        try {
+            return RoomType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown room type: " + type);
+        }
+    }
 }
@@ -0,0 +1,204 @@
+package com.mykulle.booking.system.catalog.application;
+
+import com.mykulle.booking.system.catalog.RoomCatalogEvent;
+import com.mykulle.booking.system.catalog.RoomCatalogEvent.*;
+import com.mykulle.booking.system.shared.coherence.CacheCoherence;
+import com.mykulle.booking.system.shared.coherence.CoherentCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, least-recently-used cache of catalog query results, one entry per query.
+ * Entries are evicted after commit by the catalog events: every entry holding the changed room,
+ * plus the queries the room may newly appear in. Results read while an eviction ran are not cached.
+ * Changes are also announced to other instances in the {@value #REGION} region, keyed by room id;
+ * another instance's change clears the whole cache, as catalog changes are rare.
+ * Guarded by a lock rather than {@code synchronized}, which would pin virtual threads to their carrier.
+ */
+@Component
+public class CatalogReadCache implements CoherentCache, MeterBinder {
+
+    static final String REGION = "catalog";
+
+    private final CacheCoherence coherence;
+    private final Map<Key, List<RoomDTO>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long invalidations;
+
+    public CatalogReadCache(CacheCoherence coherence, @Value("${catalog.cache.max-entries:1000}") int maxEntries) {
+        this.coherence = coherence;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<RoomDTO>> eldest) {
+                var full = size() > maxEntries;
+                if (full) {
+                    evictions.increment();
+                }
+                return full;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result of {@code key}, loading and caching it on a miss.
+     */
+    public List<RoomDTO> get(Key key, Supplier<List<RoomDTO>> loader) {
+        long generation;
+        lock.lock();
+        try {
+            var cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            misses.increment();
+            generation = invalidations;
+        } finally {
+            lock.unlock();
+        }
+
+        var loaded = List.copyOf(loader.get());
+        lock.lock();
+        try {
+            if (invalidations == generation) {
+                entries.put(key, loaded);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener
+    public void on(RoomAddedToCatalog e) {
+        evict(e.roomId(), Key.all(), Key.enabled(), Key.type(e.type()), Key.location(e.roomLocation()), Key.id(e.roomId()));
+    }
+
+    @TransactionalEventListener
+    public void on(RoomsImportedToCatalog e) {
+        e.rooms().forEach(this::on);
+    }
+
+    @TransactionalEventListener
+    public void on(RoomOperationalStatusChanged e) {
+        evict(e.roomId(), Key.enabled());
+    }
+
+    @TransactionalEventListener
+    public void on(RoomRemovedFromCatalog e) {
+        evict(e.roomId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void announce(RoomCatalogEvent event) {
+        var key = switch (event) {
+            case RoomAddedToCatalog e -> String.valueOf(e.roomId());
+            case RoomOperationalStatusChanged e -> String.valueOf(e.roomId());
+            case RoomRemovedFromCatalog e -> String.valueOf(e.roomId());
+            default -> CacheCoherence.ALL;
+        };
+        coherence.publish(REGION, key);
+    }
+
+    @Override
+    public Set<String> regions() {
+        return Set.of(REGION);
+    }
+
+    @Override
+    public void evict(String region, String key) {
+        clear();
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            invalidations++;
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.cache.size", this, CatalogReadCache::size)
+                .description("Catalog query results held in the read cache")
+                .register(registry);
+        FunctionCounter.builder("catalog.cache.lookups", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("catalog.cache.lookups", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("catalog.cache.evictions", evictions, LongAdder::sum)
+                .description("Entries dropped because the cache was full")
+                .register(registry);
+    }
+
+    private void evict(Long roomId, Key... keys) {
+        lock.lock();
+        try {
+            invalidations++;
+            for (var key : keys) {
+                entries.remove(key);
+            }
+            entries.values().removeIf(rooms -> rooms.stream().anyMatch(room -> Objects.equals(room.id(), roomId)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public record Key(Query query, String argument) {
+
+        public static Key all() {
+            return new Key(Query.ALL, null);
+        }
+
+        public static Key enabled() {
+            return new Key(Query.ENABLED, null);
+        }
+
+        public static Key type(String roomType) {
+            return new Key(Query.TYPE, roomType);
+        }
+
+        public static Key location(String roomLocation) {
+            return new Key(Query.LOCATION, roomLocation);
+        }
+
+        public static Key id(Long roomId) {
+            return new Key(Query.ID, String.valueOf(roomId));
+        }
+    }
+
+    public enum Query { ALL, ENABLED, TYPE, LOCATION, ID }
+}
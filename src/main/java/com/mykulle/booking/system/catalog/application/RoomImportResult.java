@@ -0,0 +1,11 @@
+package com.mykulle.booking.system.catalog.application;
+
+import java.util.List;
+
+public record RoomImportResult(
+        int imported,
+        List<RowError> errors
+) {
+
+    public record RowError(int line, String message) {}
+}
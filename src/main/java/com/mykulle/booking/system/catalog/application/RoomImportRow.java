@@ -0,0 +1,11 @@
+package com.mykulle.booking.system.catalog.application;
+
+/**
+ * One room of a bulk import, as read from the uploaded file. Values are validated on import.
+ */
+public record RoomImportRow(
+        int line,
+        String name,
+        String roomLocation,
+        String type
+) {}
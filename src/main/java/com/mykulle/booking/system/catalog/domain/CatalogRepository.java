@@ -2,6 +2,7 @@ package com.mykulle.booking.system.catalog.domain;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +12,7 @@ public interface CatalogRepository extends JpaRepository<CatalogRoom, Long> {
 
     List<CatalogRoom> findByOperationalStatus(CatalogRoom.OperationalStatus status);
 
-    Optional<CatalogRoom> findByProfileRoomLocationValue(String value);}
+    Optional<CatalogRoom> findByProfileRoomLocationValue(String value);
+
+    List<CatalogRoom> findByProfileRoomLocationValueIn(Collection<String> values);
+}
@@ -18,7 +18,8 @@ public class CatalogRoom {
 
     @Identity
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "catalog_room_seq")
+    @SequenceGenerator(name = "catalog_room_seq", sequenceName = "catalog_room_seq", allocationSize = 50)
     private Long Id;
 
     @Embedded
@@ -1,6 +1,9 @@
 @ApplicationModule(
         displayName = "Catalog",
-        allowedDependencies = {"com.mykulle.booking.system.useraccount::identity"}
+        allowedDependencies = {
+                "com.mykulle.booking.system.useraccount::identity",
+                "com.mykulle.booking.system.shared::coherence"
+        }
 )
 package com.mykulle.booking.system.catalog;
 
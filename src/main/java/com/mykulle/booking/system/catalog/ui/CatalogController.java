@@ -2,15 +2,24 @@ package com.mykulle.booking.system.catalog.ui;
 
 import com.mykulle.booking.system.catalog.application.CatalogManagement;
 import com.mykulle.booking.system.catalog.application.RoomDTO;
+import com.mykulle.booking.system.catalog.application.RoomImportResult;
 import com.mykulle.booking.system.catalog.domain.CatalogRoom;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -18,7 +27,11 @@ import java.util.List;
 @RequestMapping("/rooms")
 public class CatalogController {
 
+    private static final String CSV = "text/csv";
+    private static final String NDJSON = "application/x-ndjson";
+
     private final CatalogManagement catalogManagement;
+    private final JsonMapper jsonMapper;
 
     @PostMapping
     ResponseEntity<RoomDTO> addRoom(@Valid @RequestBody addRoomRequest request) {
@@ -26,6 +39,21 @@ public class CatalogController {
         return ResponseEntity.status(HttpStatus.CREATED).body(roomDTO);
     }
 
+    /**
+     * Imports rooms from a CSV or NDJSON upload, read line by line while the rooms are saved in batches.
+     */
+    @PostMapping(value = "/import", consumes = {CSV, NDJSON})
+    ResponseEntity<RoomImportResult> importRooms(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) throws IOException {
+        var csv = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CSV));
+        try (var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+             var rows = csv ? RoomImportParser.csv(reader) : RoomImportParser.ndjson(reader, jsonMapper)) {
+            return ResponseEntity.ok(catalogManagement.importRooms(rows));
+        }
+    }
+
     @DeleteMapping("/{roomId}")
     ResponseEntity<Void> removeRoom(@PathVariable Long roomId) {
         catalogManagement.removeRoom(roomId);
@@ -0,0 +1,130 @@
+package com.mykulle.booking.system.catalog.ui;
+
+import com.mykulle.booking.system.catalog.application.RoomImportRow;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Reads an uploaded room import lazily, one line at a time.
+ * CSV needs a header naming the columns {@code name}, {@code roomLocation} and {@code type};
+ * NDJSON has one object with the same fields per line. Blank lines are skipped.
+ * A line that cannot be parsed at all aborts the import; field values are validated by the catalog.
+ */
+final class RoomImportParser {
+
+    private static final List<String> COLUMNS = List.of("name", "roomlocation", "type");
+
+    private RoomImportParser() {
+    }
+
+    static Stream<RoomImportRow> csv(BufferedReader reader) {
+        var header = readLine(reader);
+        if (header == null) {
+            return Stream.empty();
+        }
+        var columns = split(header, 1).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        var positions = COLUMNS.stream().mapToInt(columns::indexOf).toArray();
+        for (var i = 0; i < positions.length; i++) {
+            if (positions[i] < 0) {
+                throw new IllegalArgumentException("CSV header is missing column: " + COLUMNS.get(i));
+            }
+        }
+
+        return lines(reader, 1).map(line -> {
+            var fields = split(line.text(), line.number());
+            return new RoomImportRow(
+                    line.number(),
+                    field(fields, positions[0]),
+                    field(fields, positions[1]),
+                    field(fields, positions[2])
+            );
+        });
+    }
+
+    static Stream<RoomImportRow> ndjson(BufferedReader reader, JsonMapper jsonMapper) {
+        return lines(reader, 0).map(line -> {
+            JsonNode node;
+            try {
+                node = jsonMapper.readTree(line.text());
+            } catch (JacksonException e) {
+                throw new IllegalArgumentException("line " + line.number() + ": malformed JSON");
+            }
+            if (!node.isObject()) {
+                throw new IllegalArgumentException("line " + line.number() + ": expected a JSON object");
+            }
+            return new RoomImportRow(line.number(), text(node, "name"), text(node, "roomLocation"), text(node, "type"));
+        });
+    }
+
+    private static Stream<Line> lines(BufferedReader reader, int linesRead) {
+        var number = new AtomicInteger(linesRead);
+        return reader.lines()
+                .map(text -> new Line(number.incrementAndGet(), text))
+                .filter(line -> !line.text().isBlank());
+    }
+
+    /**
+     * Splits one CSV line; fields may be quoted, with {@code ""} for a literal quote.
+     */
+    private static List<String> split(String line, int number) {
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        var quoted = false;
+        for (var i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("line " + number + ": unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, int position) {
+        return position < fields.size() ? fields.get(position).trim() : null;
+    }
+
+    private static String text(JsonNode node, String field) {
+        var value = node.get(field);
+        return value == null || value.isNull() ? null : value.asString();
+    }
+
+    private static String readLine(BufferedReader reader) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Line(int number, String text) {}
+}
@@ -0,0 +1,32 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change of room availability pushed to feed subscribers.
+ * {@code BOOKING} carries a booking and whether it now occupies the room, {@code ROOM} the room's
+ * operational status, and {@code STALE} tells the client to fetch the room again, because it changed
+ * on another instance; a {@code STALE} delta without room id covers every room.
+ */
+public record AvailabilityDelta(
+        String type,
+        Long roomId,
+        Long bookingId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String status,
+        Boolean occupied
+) {
+
+    static AvailabilityDelta booking(Long roomId, Long bookingId, LocalDateTime startTime, LocalDateTime endTime, String status, boolean occupied) {
+        return new AvailabilityDelta("BOOKING", roomId, bookingId, startTime, endTime, status, occupied);
+    }
+
+    static AvailabilityDelta room(Long roomId, String operationalStatus) {
+        return new AvailabilityDelta("ROOM", roomId, null, null, null, operationalStatus, null);
+    }
+
+    static AvailabilityDelta stale(Long roomId) {
+        return new AvailabilityDelta("STALE", roomId, null, null, null, null, null);
+    }
+}
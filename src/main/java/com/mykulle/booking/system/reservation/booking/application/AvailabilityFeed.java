@@ -0,0 +1,267 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.catalog.RoomCatalogEvent;
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.reservation.rooms.domain.Room;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes availability deltas to subscribers of a set of rooms or of a building.
+ * Deltas are taken from booking and catalog events after commit and queued per subscriber;
+ * each subscriber is served by its own virtual thread, so thousands of idle connections cost
+ * no platform threads and a slow client never holds up the committing thread or other clients.
+ * A subscriber that falls {@code queue-capacity} deltas behind is closed and has to resubscribe.
+ * Idle subscribers get a heartbeat every {@code heartbeat-ms}, which also detects dead connections.
+ */
+@Slf4j
+@Component
+public class AvailabilityFeed implements MeterBinder, DisposableBean {
+
+    public static final int MAX_ROOMS_PER_SUBSCRIPTION = 500;
+
+    private final RoomOccupancyIndex occupancyIndex;
+    private final int queueCapacity;
+    private final long heartbeatMillis;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<Long, Set<Subscription>> byRoom = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<Subscription>> byBuilding = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, String> buildings = new ConcurrentHashMap<>();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    public AvailabilityFeed(
+            RoomOccupancyIndex occupancyIndex,
+            @Value("${reservation.availability-feed.queue-capacity:256}") int queueCapacity,
+            @Value("${reservation.availability-feed.heartbeat-ms:25000}") long heartbeatMillis
+    ) {
+        this.occupancyIndex = occupancyIndex;
+        this.queueCapacity = queueCapacity;
+        this.heartbeatMillis = heartbeatMillis;
+    }
+
+    /**
+     * Receives what a subscriber is sent; called from the subscriber's own thread only.
+     */
+    public interface Subscriber {
+
+        void deliver(AvailabilityDelta delta) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        /**
+         * The feed ended the subscription: the subscriber fell behind, its connection failed, or the feed shut down.
+         */
+        void closed();
+    }
+
+    /**
+     * Subscribes to the given rooms and/or every room of a building, e.g. {@code LIB} for {@code LIB-03-12}.
+     */
+    public Subscription subscribe(Collection<Long> roomIds, String building, Subscriber subscriber) {
+        var rooms = roomIds == null ? Set.<Long>of() : Set.copyOf(roomIds);
+        var buildingKey = building == null || building.isBlank() ? null : building.trim().toUpperCase(Locale.ROOT);
+        if (rooms.isEmpty() && buildingKey == null) {
+            throw new IllegalArgumentException("Subscribe to at least one room or a building");
+        }
+        if (rooms.size() > MAX_ROOMS_PER_SUBSCRIPTION) {
+            throw new IllegalArgumentException("At most " + MAX_ROOMS_PER_SUBSCRIPTION + " rooms per subscription");
+        }
+
+        var subscription = new Subscription(rooms, buildingKey, subscriber);
+        subscriptions.add(subscription);
+        rooms.forEach(roomId -> byRoom.computeIfAbsent(roomId, id -> ConcurrentHashMap.newKeySet()).add(subscription));
+        if (buildingKey != null) {
+            byBuilding.computeIfAbsent(buildingKey, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+        }
+        subscription.start();
+        return subscription;
+    }
+
+    @TransactionalEventListener
+    public void on(BookingEvent event) {
+        var occupied = Booking.blockingStatuses().contains(Booking.BookingStatus.valueOf(event.status()));
+        publish(event.roomId(), AvailabilityDelta.booking(
+                event.roomId(), event.bookingId(), event.startTime(), event.endTime(), event.status(), occupied
+        ));
+    }
+
+    @TransactionalEventListener
+    public void on(RoomCatalogEvent.RoomAddedToCatalog e) {
+        buildings.put(e.roomId(), Room.RoomLocation.buildingOf(e.roomLocation()));
+        publish(e.roomId(), AvailabilityDelta.room(e.roomId(), e.operationalStatus()));
+    }
+
+    @TransactionalEventListener
+    public void on(RoomCatalogEvent.RoomsImportedToCatalog e) {
+        e.rooms().forEach(this::on);
+    }
+
+    @TransactionalEventListener
+    public void on(RoomCatalogEvent.RoomOperationalStatusChanged e) {
+        publish(e.roomId(), AvailabilityDelta.room(e.roomId(), e.operationalStatus()));
+    }
+
+    @TransactionalEventListener
+    public void on(RoomCatalogEvent.RoomRemovedFromCatalog e) {
+        publish(e.roomId(), AvailabilityDelta.room(e.roomId(), "REMOVED"));
+        buildings.remove(e.roomId());
+    }
+
+    /**
+     * Tells subscribers of the room, or every subscriber when {@code roomId} is null, to fetch it again.
+     */
+    public void stale(Long roomId) {
+        if (roomId == null) {
+            subscriptions.forEach(subscription -> subscription.offer(AvailabilityDelta.stale(null)));
+        } else {
+            buildings.remove(roomId);
+            publish(roomId, AvailabilityDelta.stale(roomId));
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reservation.availability.feed.subscribers", this, AvailabilityFeed::subscriberCount)
+                .description("Open availability feed subscriptions")
+                .register(registry);
+        FunctionCounter.builder("reservation.availability.feed.delivered", delivered, LongAdder::sum)
+                .description("Availability deltas written to subscribers")
+                .register(registry);
+        FunctionCounter.builder("reservation.availability.feed.overflowed", overflowed, LongAdder::sum)
+                .description("Subscriptions closed because the subscriber fell behind")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        List.copyOf(subscriptions).forEach(Subscription::close);
+    }
+
+    private void publish(Long roomId, AvailabilityDelta delta) {
+        var recipients = ConcurrentHashMap.<Subscription>newKeySet();
+        recipients.addAll(byRoom.getOrDefault(roomId, Set.of()));
+        if (!byBuilding.isEmpty()) {
+            var building = buildingOf(roomId);
+            if (building != null) {
+                recipients.addAll(byBuilding.getOrDefault(building, Set.of()));
+            }
+        }
+        recipients.forEach(subscription -> subscription.offer(delta));
+    }
+
+    private String buildingOf(Long roomId) {
+        return buildings.computeIfAbsent(roomId, id -> occupancyIndex.findRoom(id)
+                .map(room -> Room.RoomLocation.buildingOf(room.location()))
+                .orElse(null));
+    }
+
+    private void remove(Subscription subscription) {
+        if (!subscriptions.remove(subscription)) {
+            return;
+        }
+        subscription.roomIds.forEach(roomId -> byRoom.computeIfPresent(roomId, (id, set) -> {
+            set.remove(subscription);
+            return set.isEmpty() ? null : set;
+        }));
+        if (subscription.building != null) {
+            byBuilding.computeIfPresent(subscription.building, (key, set) -> {
+                set.remove(subscription);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    /**
+     * One open subscription; close it when the client goes away.
+     */
+    public final class Subscription {
+
+        private final Set<Long> roomIds;
+        private final String building;
+        private final Subscriber subscriber;
+        private final BlockingQueue<AvailabilityDelta> queue;
+        private volatile Thread writer;
+        private volatile boolean closed;
+
+        private Subscription(Set<Long> roomIds, String building, Subscriber subscriber) {
+            this.roomIds = roomIds;
+            this.building = building;
+            this.subscriber = subscriber;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        /**
+         * Ends the subscription; safe to call more than once and from any thread.
+         */
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            remove(this);
+            var thread = writer;
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+
+        private void start() {
+            writer = Thread.ofVirtual().name("availability-feed").start(this::run);
+        }
+
+        private void offer(AvailabilityDelta delta) {
+            if (!closed && !queue.offer(delta)) {
+                overflowed.increment();
+                log.debug("Closing availability subscription that fell {} deltas behind", queueCapacity);
+                close();
+            }
+        }
+
+        private void run() {
+            try {
+                while (!closed) {
+                    var delta = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (delta == null) {
+                        subscriber.heartbeat();
+                    } else {
+                        subscriber.deliver(delta);
+                        delivered.increment();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException e) {
+                log.debug("Availability subscriber went away: {}", e.getMessage());
+            } finally {
+                close();
+                subscriber.closed();
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-day slot occupancy of every room, as {@link SlotBitmap} masks keyed by room id.
+ * Days are cached and dropped again when a booking on that day is created or changes status.
+ * Missing days of a request are built from one query over the whole missing span.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityGrid implements MeterBinder {
+
+    private static final int MAX_CACHED_DAYS = 62;
+
+    private final BookingRepository bookingRepository;
+
+    private final ConcurrentMap<LocalDate, Map<Long, Long>> days = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Occupied slots per room for each day from {@code from} to {@code to}, both inclusive.
+     * Rooms without blocking bookings on a day are absent from that day's map.
+     */
+    public Map<LocalDate, Map<Long, Long>> occupancy(LocalDate from, LocalDate to) {
+        var result = new LinkedHashMap<LocalDate, Map<Long, Long>>();
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (var day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            var cached = days.get(day);
+            if (cached == null) {
+                firstMissing = firstMissing == null ? day : firstMissing;
+                lastMissing = day;
+                misses.increment();
+            } else {
+                hits.increment();
+            }
+            result.put(day, cached);
+        }
+
+        if (firstMissing != null) {
+            var built = build(firstMissing, lastMissing);
+            result.replaceAll((day, cached) -> cached != null ? cached : built.getOrDefault(day, Map.of()));
+        }
+        return result;
+    }
+
+    @TransactionalEventListener
+    public void on(BookingEvent event) {
+        evict(event.startTime().toLocalDate(), event.endTime().toLocalDate());
+    }
+
+    /**
+     * Drops the cached days from {@code from} to {@code to}, both inclusive.
+     */
+    public void evict(LocalDate from, LocalDate to) {
+        invalidations.incrementAndGet();
+        for (var day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            days.remove(day);
+        }
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        days.clear();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reservation.availability.grid.days", days, Map::size)
+                .description("Days held by the availability grid cache")
+                .register(registry);
+        FunctionCounter.builder("reservation.availability.grid.lookups", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("reservation.availability.grid.lookups", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    private Map<LocalDate, Map<Long, Long>> build(LocalDate from, LocalDate to) {
+        var generation = invalidations.get();
+        var built = new HashMap<LocalDate, Map<Long, Long>>();
+        for (var day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            built.put(day, new HashMap<>());
+        }
+
+        var bookings = bookingRepository.findSnapshotsActiveBetween(
+                Booking.blockingStatuses(),
+                from.atStartOfDay(),
+                to.plusDays(1).atStartOfDay()
+        );
+        bookings.forEach(booking -> SlotBitmap.masksByDay(booking.startTime(), booking.endTime()).forEach((day, mask) -> {
+            var rooms = built.get(day);
+            if (rooms != null) {
+                rooms.merge(booking.roomId(), mask, (current, added) -> current | added);
+            }
+        }));
+
+        // A booking changed while we were reading; serve what we read but do not cache it.
+        if (invalidations.get() == generation) {
+            evictIfFull();
+            built.forEach((day, rooms) -> days.put(day, Map.copyOf(rooms)));
+        }
+        return built;
+    }
+
+    private void evictIfFull() {
+        var today = LocalDate.now();
+        days.keySet().removeIf(day -> day.isBefore(today));
+        if (days.size() > MAX_CACHED_DAYS) {
+            days.clear();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Slot occupancy of rooms over consecutive days. Each room carries one mask per day starting at {@code from};
+ * bit {@code i} of a mask is set when the slot starting {@code i * slotMinutes} after midnight is taken.
+ */
+public record AvailabilityGridDTO(
+        LocalDate from,
+        LocalDate to,
+        int slotMinutes,
+        List<RoomSlotsDTO> rooms
+) {
+
+    public record RoomSlotsDTO(
+            Long roomId,
+            String operationalStatus,
+            List<Long> occupiedSlots
+    ) {
+    }
+}
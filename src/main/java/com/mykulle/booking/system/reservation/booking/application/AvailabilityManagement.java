@@ -0,0 +1,226 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingOverlapQueries;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.rooms.domain.Room;
+import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Availability queries spanning many rooms.
+ */
+@Transactional(readOnly = true)
+@Service
+@RequiredArgsConstructor
+public class AvailabilityManagement {
+
+    static final int DEFAULT_SEARCH_LIMIT = 100;
+    static final int MAX_SEARCH_LIMIT = 1000;
+    static final int MAX_GRID_DAYS = 31;
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int MAX_FREE_SLOTS = 20;
+    static final Duration MAX_SEARCH_HORIZON = Duration.ofDays(14);
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final RoomOccupancyIndex occupancyIndex;
+    private final AvailabilityGrid availabilityGrid;
+
+    /**
+     * Returns enabled rooms of the given type that are free for the whole time range,
+     * optionally restricted to locations starting with {@code locationPrefix}.
+     * Answered by one scan of the occupancy index, or one anti-join query when the index does not cover the range.
+     */
+    public List<AvailableRoomDTO> searchAvailableRooms(
+            String roomType,
+            String locationPrefix,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            Integer limit
+    ) {
+        if (roomType == null || roomType.isBlank()) throw new IllegalArgumentException("type is required");
+        var maxResults = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+        if (maxResults < 1 || maxResults > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+
+        var timeRange = new Booking.TimeRange(startTime, endTime);
+        var type = roomType.trim().toUpperCase(Locale.ROOT);
+        var prefix = (locationPrefix == null || locationPrefix.isBlank()) ? null : locationPrefix.trim();
+
+        return occupancyIndex.findFreeRooms(type, prefix, timeRange, maxResults)
+                .orElseGet(() -> bookingRepository.findAvailableRooms(
+                                type,
+                                prefix,
+                                timeRange.startTime(),
+                                timeRange.endTime(),
+                                Booking.blockingStatuses(),
+                                PageRequest.of(0, maxResults)
+                        )
+                        .stream()
+                        .map(room -> new AvailableRoomDTO(room.roomId(), room.name(), room.location(), room.roomType()))
+                        .toList());
+    }
+
+    /**
+     * Returns the slot occupancy of the given rooms, or of all rooms, for each day from {@code from} to {@code to}.
+     */
+    public AvailabilityGridDTO fetchAvailabilityGrid(LocalDate from, LocalDate to, List<Long> roomIds) {
+        if (from == null || to == null) throw new IllegalArgumentException("from and to are required");
+        if (to.isBefore(from)) throw new IllegalArgumentException("to must not be before from");
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_GRID_DAYS) {
+            throw new IllegalArgumentException("grid must not span more than " + MAX_GRID_DAYS + " days");
+        }
+
+        var rooms = (roomIds == null || roomIds.isEmpty())
+                ? roomRepository.findAll(Sort.by("roomId"))
+                : roomRepository.findAllById(roomIds).stream().sorted(Comparator.comparing(Room::getRoomId)).toList();
+        var occupancy = availabilityGrid.occupancy(from, to);
+
+        var grid = rooms.stream()
+                .map(room -> new AvailabilityGridDTO.RoomSlotsDTO(
+                        room.getRoomId(),
+                        room.getOperationalStatus(),
+                        occupancy.values().stream().map(day -> day.getOrDefault(room.getRoomId(), 0L)).toList()
+                ))
+                .toList();
+        return new AvailabilityGridDTO(from, to, SlotBitmap.SLOT_MINUTES, grid);
+    }
+
+    /**
+     * Answers many availability questions at once, in request order, with one room fetch
+     * and one set-based overlap query. Unknown rooms are reported as {@code ROOM_NOT_FOUND}.
+     */
+    public List<RoomAvailabilityDTO> checkAvailability(List<AvailabilityQuery> queries) {
+        if (queries == null || queries.isEmpty()) throw new IllegalArgumentException("at least one query is required");
+        if (queries.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("at most " + MAX_BATCH_SIZE + " queries are allowed per request");
+        }
+
+        var ranges = new ArrayList<BookingOverlapQueries.RequestedRange>(queries.size());
+        for (var i = 0; i < queries.size(); i++) {
+            var query = queries.get(i);
+            try {
+                if (query.roomId() == null) throw new IllegalArgumentException("roomId is required");
+                ranges.add(new BookingOverlapQueries.RequestedRange(query.roomId(), new Booking.TimeRange(query.startTime(), query.endTime())));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("queries[" + i + "]: " + e.getMessage());
+            }
+        }
+
+        var rooms = roomRepository.findAllById(ranges.stream().map(BookingOverlapQueries.RequestedRange::roomId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Room::getRoomId, Function.identity()));
+        var overlapping = bookingRepository.findOverlapping(ranges);
+
+        var results = new ArrayList<RoomAvailabilityDTO>(queries.size());
+        for (var i = 0; i < queries.size(); i++) {
+            var query = queries.get(i);
+            var room = rooms.get(query.roomId());
+            var status = room == null ? "ROOM_NOT_FOUND"
+                    : room.isDisabled() || overlapping.contains(i) ? "UNAVAILABLE"
+                    : "AVAILABLE";
+            results.add(new RoomAvailabilityDTO(query.roomId(), query.startTime(), query.endTime(), status));
+        }
+        return results;
+    }
+
+    /**
+     * Returns the earliest free, slot-aligned ranges of {@code durationMinutes} for a room,
+     * starting no earlier than {@code from} (or now) and ending within the horizon.
+     * Blocking bookings in the horizon are marked on a slot bitset once, which is then scanned for free runs.
+     */
+    public List<RoomAvailabilityDTO> findNextFreeSlots(
+            Long roomId,
+            long durationMinutes,
+            LocalDateTime from,
+            Duration horizon,
+            Integer count
+    ) {
+        if (roomId == null) throw new IllegalArgumentException("roomId is required");
+        if (durationMinutes < Booking.TimeRange.MIN_DURATION_MINUTES
+                || durationMinutes > Booking.TimeRange.MAX_DURATION_MINUTES
+                || durationMinutes % SlotBitmap.SLOT_MINUTES != 0) {
+            throw new IllegalArgumentException("durationMinutes must be a multiple of " + SlotBitmap.SLOT_MINUTES
+                    + " between " + Booking.TimeRange.MIN_DURATION_MINUTES + " and " + Booking.TimeRange.MAX_DURATION_MINUTES);
+        }
+        if (horizon == null || horizon.isNegative() || horizon.isZero() || horizon.compareTo(MAX_SEARCH_HORIZON) > 0) {
+            throw new IllegalArgumentException("horizon must be positive and at most " + MAX_SEARCH_HORIZON.toDays() + " days");
+        }
+        var wanted = count == null ? 5 : count;
+        if (wanted < 1 || wanted > MAX_FREE_SLOTS) {
+            throw new IllegalArgumentException("count must be between 1 and " + MAX_FREE_SLOTS);
+        }
+
+        var room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("Room not found with id: " + roomId));
+        if (room.isDisabled()) {
+            return List.of();
+        }
+
+        var now = LocalDateTime.now();
+        var windowStart = nextSlotBoundary(from == null || from.isBefore(now) ? now : from);
+        var slotCount = (int) (horizon.toMinutes() / SlotBitmap.SLOT_MINUTES);
+        var windowEnd = windowStart.plusMinutes((long) slotCount * SlotBitmap.SLOT_MINUTES);
+
+        var occupied = new BitSet(slotCount);
+        blockingRanges(roomId, windowStart, windowEnd).forEach(range -> occupied.set(
+                Math.max(0, slotOffset(windowStart, range.startTime())),
+                Math.min(slotCount, slotOffset(windowStart, range.endTime()))
+        ));
+
+        var slotsNeeded = (int) (durationMinutes / SlotBitmap.SLOT_MINUTES);
+        var free = new ArrayList<RoomAvailabilityDTO>(wanted);
+        var slot = occupied.nextClearBit(0);
+        while (slot + slotsNeeded <= slotCount && free.size() < wanted) {
+            var nextTaken = occupied.nextSetBit(slot);
+            var runEnd = nextTaken < 0 ? slotCount : nextTaken;
+            for (var start = slot; start + slotsNeeded <= runEnd && free.size() < wanted; start++) {
+                var startTime = windowStart.plusMinutes((long) start * SlotBitmap.SLOT_MINUTES);
+                free.add(new RoomAvailabilityDTO(roomId, startTime, startTime.plusMinutes(durationMinutes), "AVAILABLE"));
+            }
+            if (nextTaken < 0) {
+                break;
+            }
+            slot = occupied.nextClearBit(nextTaken);
+        }
+        return free;
+    }
+
+    private List<Booking.TimeRange> blockingRanges(Long roomId, LocalDateTime from, LocalDateTime until) {
+        return occupancyIndex.blockingRanges(roomId, from, until)
+                .orElseGet(() -> bookingRepository.findRoomSnapshotsBetween(roomId, Booking.blockingStatuses(), from, until)
+                        .stream()
+                        .map(booking -> new Booking.TimeRange(booking.startTime(), booking.endTime()))
+                        .toList());
+    }
+
+    private static int slotOffset(LocalDateTime windowStart, LocalDateTime time) {
+        return (int) Math.floorDiv(Duration.between(windowStart, time).toMinutes(), SlotBitmap.SLOT_MINUTES);
+    }
+
+    private static LocalDateTime nextSlotBoundary(LocalDateTime time) {
+        var truncated = time.truncatedTo(ChronoUnit.HOURS);
+        while (truncated.isBefore(time)) {
+            truncated = truncated.plusMinutes(SlotBitmap.SLOT_MINUTES);
+        }
+        return truncated;
+    }
+}
@@ -0,0 +1,10 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import java.time.LocalDateTime;
+
+public record AvailabilityQuery(
+        Long roomId,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {
+}
@@ -0,0 +1,9 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+public record AvailableRoomDTO(
+        Long roomId,
+        String name,
+        String location,
+        String type
+) {
+}
@@ -0,0 +1,32 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Decides whether a booking may be created for a room and persists it when it is admitted.
+ * The active implementation is selected with reservation.booking.admission-mode.
+ * Implementations signal a rejected booking with {@link IllegalStateException}
+ * and an unknown room with {@link IllegalArgumentException}.
+ */
+public interface BookingAdmission {
+
+    /**
+     * Whether admission joins the caller's transaction, which then commits the booking and publishes its events.
+     * Implementations that return {@code false} commit admitted bookings and publish {@code BookingCreated}
+     * in a transaction of their own; callers invoke them without a transaction, so no connection is held while they wait.
+     */
+    default boolean joinsCallerTransaction() {
+        return true;
+    }
+
+    BookingDTO admit(Long roomId, String ownerUserId, Booking.TimeRange timeRange);
+
+    /**
+     * Admits all occurrences of a recurring series or none of them.
+     * Returns the created bookings in occurrence order.
+     */
+    List<BookingDTO> admitSeries(Long roomId, String ownerUserId, List<Booking.TimeRange> occurrences, UUID seriesId);
+}
@@ -0,0 +1,12 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import java.time.LocalDateTime;
+
+public record BookingAlternativeDTO(
+        Long roomId,
+        String roomName,
+        String location,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {
+}
@@ -0,0 +1,84 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Suggests bookable alternatives for a conflicting request, using only the in-memory occupancy index:
+ * the same room at nearby slots, and free rooms of the same type in the same building at the requested time.
+ * Suggestions are a hint, not a reservation; nothing is suggested while the index is not loaded.
+ * <p>
+ * Configure the number of suggestions with {@code reservation.booking.alternatives.max}.
+ */
+@Component
+public class BookingAlternatives {
+
+    private static final int MAX_SLOT_SHIFT = 4;
+
+    private final RoomOccupancyIndex occupancyIndex;
+    private final int maxAlternatives;
+
+    public BookingAlternatives(
+            RoomOccupancyIndex occupancyIndex,
+            @Value("${reservation.booking.alternatives.max:5}") int maxAlternatives
+    ) {
+        this.occupancyIndex = occupancyIndex;
+        this.maxAlternatives = maxAlternatives;
+    }
+
+    public List<BookingAlternativeDTO> suggest(Long roomId, Booking.TimeRange timeRange) {
+        if (maxAlternatives < 1) {
+            return List.of();
+        }
+
+        var sameRoom = sameRoomNearbySlots(roomId, timeRange);
+        var otherRooms = occupancyIndex.findFreeRoomsNearby(roomId, timeRange, maxAlternatives)
+                .orElse(List.of())
+                .stream()
+                .map(room -> new BookingAlternativeDTO(room.roomId(), room.name(), room.location(), timeRange.startTime(), timeRange.endTime()))
+                .toList();
+
+        // Alternate between both kinds so each is represented when the list is capped.
+        var alternatives = new ArrayList<BookingAlternativeDTO>(maxAlternatives);
+        for (var i = 0; alternatives.size() < maxAlternatives && (i < sameRoom.size() || i < otherRooms.size()); i++) {
+            if (i < sameRoom.size()) {
+                alternatives.add(sameRoom.get(i));
+            }
+            if (i < otherRooms.size() && alternatives.size() < maxAlternatives) {
+                alternatives.add(otherRooms.get(i));
+            }
+        }
+        return alternatives;
+    }
+
+    private List<BookingAlternativeDTO> sameRoomNearbySlots(Long roomId, Booking.TimeRange timeRange) {
+        var room = occupancyIndex.findRoom(roomId);
+        if (room.isEmpty()) {
+            return List.of();
+        }
+
+        var now = LocalDateTime.now();
+        var slots = new ArrayList<BookingAlternativeDTO>();
+        for (var shift = 1; shift <= MAX_SLOT_SHIFT && slots.size() < maxAlternatives; shift++) {
+            for (var direction : new int[]{1, -1}) {
+                var minutes = (long) direction * shift * SlotBitmap.SLOT_MINUTES;
+                var candidate = new Booking.TimeRange(timeRange.startTime().plusMinutes(minutes), timeRange.endTime().plusMinutes(minutes));
+                if (candidate.startTime().isBefore(now)) {
+                    continue;
+                }
+                var free = occupancyIndex.lookup(roomId, candidate)
+                        .filter(occupancy -> occupancy == RoomOccupancyIndex.Occupancy.FREE)
+                        .isPresent();
+                if (free) {
+                    slots.add(new BookingAlternativeDTO(roomId, room.get().name(), room.get().location(), candidate.startTime(), candidate.endTime()));
+                }
+            }
+        }
+        return slots;
+    }
+}
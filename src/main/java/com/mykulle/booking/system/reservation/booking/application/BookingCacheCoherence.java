@@ -0,0 +1,131 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.reservation.rooms.application.RoomManagement;
+import com.mykulle.booking.system.shared.coherence.CacheCoherence;
+import com.mykulle.booking.system.shared.coherence.CoherentCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the booking caches of all instances coherent.
+ * Booking changes are announced to other instances in the {@value #BOOKINGS} region with the key
+ * {@code roomId/firstDay/lastDay}, once per room and transaction, so a bulk transition announces each room once.
+ * Announcements in that region evict the affected days of the {@link AvailabilityGrid}; they and room changes
+ * applied by {@link RoomManagement} rebuild the room in the {@link RoomOccupancyIndex}, once per batch of
+ * announcements. Subscribers of the {@link AvailabilityFeed} are told to fetch such rooms again.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingCacheCoherence implements CoherentCache {
+
+    static final String BOOKINGS = "bookings";
+
+    private final CacheCoherence coherence;
+    private final AvailabilityGrid availabilityGrid;
+    private final RoomOccupancyIndex occupancyIndex;
+    private final AvailabilityFeed availabilityFeed;
+
+    /**
+     * Collects the change for announcement right before the changing transaction commits.
+     */
+    @EventListener
+    public void announce(BookingEvent event) {
+        var days = new DayRange(event.startTime().toLocalDate(), event.endTime().toLocalDate());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            coherence.publish(BOOKINGS, days.key(event.roomId()));
+            return;
+        }
+
+        var pending = (PendingAnnouncements) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingAnnouncements();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.daysByRoom.merge(event.roomId(), days, DayRange::span);
+    }
+
+    @Override
+    public Set<String> regions() {
+        return Set.of(BOOKINGS, RoomManagement.COHERENCE_REGION);
+    }
+
+    @Override
+    public void evict(String region, String key) {
+        evictAll(region, List.of(key));
+    }
+
+    @Override
+    public void evictAll(String region, Collection<String> keys) {
+        if (keys.contains(CacheCoherence.ALL)) {
+            clear();
+            return;
+        }
+
+        var roomIds = new LinkedHashSet<Long>();
+        for (var key : keys) {
+            if (BOOKINGS.equals(region)) {
+                var parts = key.split("/");
+                availabilityGrid.evict(LocalDate.parse(parts[1]), LocalDate.parse(parts[2]));
+                roomIds.add(Long.valueOf(parts[0]));
+            } else {
+                roomIds.add(Long.valueOf(key));
+            }
+        }
+        roomIds.forEach(roomId -> {
+            occupancyIndex.reloadRoom(roomId);
+            availabilityFeed.stale(roomId);
+        });
+    }
+
+    @Override
+    public void clear() {
+        availabilityGrid.clear();
+        occupancyIndex.load();
+        availabilityFeed.stale(null);
+    }
+
+    private record DayRange(LocalDate first, LocalDate last) {
+
+        DayRange span(DayRange other) {
+            return new DayRange(
+                    first.isBefore(other.first) ? first : other.first,
+                    last.isAfter(other.last) ? last : other.last
+            );
+        }
+
+        String key(Long roomId) {
+            return String.join("/", String.valueOf(roomId), first.toString(), last.toString());
+        }
+    }
+
+    /**
+     * Rooms changed by the current transaction, announced once each before it commits.
+     */
+    private final class PendingAnnouncements implements TransactionSynchronization {
+
+        private final Map<Long, DayRange> daysByRoom = new LinkedHashMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            daysByRoom.forEach((roomId, days) -> coherence.publish(BOOKINGS, days.key(roomId)));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(BookingCacheCoherence.this);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import java.time.LocalDateTime;
+
+/**
+ * A booking as of its last change. Clients keep the highest {@code version} per booking id.
+ */
+public record BookingChangeDTO(
+        Long id,
+        Long roomId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String status,
+        Long version,
+        LocalDateTime lastModifiedAt
+) {
+}
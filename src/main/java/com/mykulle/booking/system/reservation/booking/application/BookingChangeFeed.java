@@ -0,0 +1,88 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.BookingChange;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * "Changes since" feed of bookings: creations, cancellations, check-ins and lifecycle transitions.
+ * Every write stamps the booking's {@code lastModifiedAt} with the database clock, and the feed pages through
+ * {@code (lastModifiedAt, id)} with a keyset cursor, so a sync reads only the rows changed since the last one.
+ * <p>
+ * A change is listed only once it is stamped before the start of every transaction still open on the database
+ * (see {@link BookingRepository#findChangeWatermark()}), so a transaction in flight when its stamp was taken
+ * has committed before the cursor moves past it. A long transaction delays the feed but never hides a change.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BookingChangeFeed {
+
+    private final BookingRepository bookingRepository;
+    private final BookingMapper mapper;
+
+    public BookingChangeFeed(BookingRepository bookingRepository, BookingMapper mapper) {
+        this.bookingRepository = bookingRepository;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Returns up to {@code limit} bookings changed after {@code cursor}, optionally of one room.
+     * Without a cursor the feed starts from the first change.
+     */
+    public BookingChangePage fetchChanges(Long roomId, String cursor, Integer limit) {
+        var pageSize = limit == null ? BookingManagement.DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > BookingManagement.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + BookingManagement.MAX_PAGE_SIZE);
+        }
+
+        var after = cursor == null || cursor.isBlank() ? null : ChangeCursor.parse(cursor);
+        // Read one extra row to learn whether another page follows.
+        var rows = bookingRepository.findChangesAfter(
+                after == null ? null : after.lastModifiedAt(),
+                after == null ? 0L : after.id(),
+                bookingRepository.findChangeWatermark(),
+                roomId,
+                PageRequest.of(0, pageSize + 1)
+        );
+        var hasMore = rows.size() > pageSize;
+        var page = hasMore ? rows.subList(0, pageSize) : rows;
+        var next = page.isEmpty() ? after : ChangeCursor.of(page.getLast());
+        return new BookingChangePage(
+                page.stream().map(mapper::toDTO).toList(),
+                next == null ? null : next.toString(),
+                hasMore
+        );
+    }
+
+    /**
+     * Position in the feed: the last change seen, written as {@code lastModifiedAt_id}.
+     */
+    record ChangeCursor(LocalDateTime lastModifiedAt, long id) {
+
+        static ChangeCursor of(BookingChange change) {
+            return new ChangeCursor(change.lastModifiedAt(), change.id());
+        }
+
+        static ChangeCursor parse(String value) {
+            var separator = value.lastIndexOf('_');
+            try {
+                return new ChangeCursor(
+                        LocalDateTime.parse(value.substring(0, separator)),
+                        Long.parseLong(value.substring(separator + 1))
+                );
+            } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid change cursor: " + value);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return lastModifiedAt + "_" + id;
+        }
+    }
+}
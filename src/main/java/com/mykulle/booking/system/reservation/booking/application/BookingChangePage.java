@@ -0,0 +1,14 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import java.util.List;
+
+/**
+ * Bookings changed since a cursor, in change order. {@code nextCursor} is passed back on the next sync;
+ * it is null only while there has been no change at all. {@code hasMore} asks to sync again right away.
+ */
+public record BookingChangePage(
+        List<BookingChangeDTO> changes,
+        String nextCursor,
+        boolean hasMore
+) {
+}
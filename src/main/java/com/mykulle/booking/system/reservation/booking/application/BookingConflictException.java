@@ -0,0 +1,45 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The requested room is already booked for the requested time range.
+ * May carry free alternatives the caller can book instead.
+ */
+public class BookingConflictException extends IllegalStateException {
+
+    public static final String MESSAGE = "Room is not available for the requested time range";
+
+    private final List<BookingAlternativeDTO> alternatives;
+
+    public BookingConflictException() {
+        this(List.of());
+    }
+
+    public BookingConflictException(List<BookingAlternativeDTO> alternatives) {
+        this(MESSAGE, alternatives);
+    }
+
+    private BookingConflictException(String message, List<BookingAlternativeDTO> alternatives) {
+        super(message);
+        this.alternatives = List.copyOf(alternatives);
+    }
+
+    /**
+     * Conflict of a recurring series, naming the occurrences that cannot be booked.
+     */
+    public static BookingConflictException forOccurrences(List<LocalDateTime> conflictingStarts) {
+        return new BookingConflictException(
+                "Room is not available for occurrences starting at " + conflictingStarts.stream()
+                        .map(LocalDateTime::toString)
+                        .collect(Collectors.joining(", ")),
+                List.of()
+        );
+    }
+
+    public List<BookingAlternativeDTO> getAlternatives() {
+        return alternatives;
+    }
+}
@@ -0,0 +1,17 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for booking listings. A booking matches the time window when it overlaps it.
+ */
+public record BookingFilter(
+        String status,
+        LocalDateTime from,
+        LocalDateTime until
+) {
+
+    public static BookingFilter none() {
+        return new BookingFilter(null, null, null);
+    }
+}
@@ -0,0 +1,241 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot;
+import com.mykulle.booking.system.reservation.booking.domain.BookingTransition;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies time-driven booking transitions with bulk conditional updates instead of loading entities.
+ * Due bookings are processed in chunks of ascending id; each chunk is one transaction that selects
+ * the due rows and updates exactly the selected ids, still guarded by status and time, and bumps the version
+ * so concurrent entity updates fail optimistically as before. Ids are not assigned in commit order, so
+ * updating the id range instead could move rows that committed after the select without publishing them.
+ * <p>
+ * Configure the chunk size with {@code reservation.lifecycle.chunk-size}.
+ */
+@Slf4j
+@Component
+public class BookingLifecycle implements MeterBinder {
+
+    public static final long CHECK_IN_GRACE_PERIOD_MINUTES = 15L;
+
+    private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher events;
+    private final LifecycleCoordinator coordinator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    private final Map<BookingTransition, LongAdder> transitioned = new EnumMap<>(BookingTransition.class);
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+
+    public BookingLifecycle(
+            BookingRepository bookingRepository,
+            ApplicationEventPublisher events,
+            LifecycleCoordinator coordinator,
+            PlatformTransactionManager transactionManager,
+            @Value("${reservation.lifecycle.chunk-size:500}") int chunkSize
+    ) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("reservation.lifecycle.chunk-size must be positive");
+        }
+        this.bookingRepository = bookingRepository;
+        this.events = events;
+        this.coordinator = coordinator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        for (var transition : BookingTransition.values()) {
+            transitioned.put(transition, new LongAdder());
+        }
+    }
+
+    /**
+     * Per-run outcome: bookings moved by each transition and the time the run took.
+     */
+    public record LifecycleReport(Map<BookingTransition, Integer> transitioned, Duration duration) {
+
+        public int total() {
+            return transitioned.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        public int count(BookingTransition transition) {
+            return transitioned.getOrDefault(transition, 0);
+        }
+    }
+
+    /**
+     * Applies every transition that is due at {@code now}, in lifecycle order,
+     * so a booking can move through several states in one run.
+     * Only bookings in shards owned by this instance are touched.
+     */
+    public LifecycleReport run(LocalDateTime now) {
+        var started = System.nanoTime();
+        var shards = coordinator.shards();
+        var counts = new EnumMap<BookingTransition, Integer>(BookingTransition.class);
+        for (var transition : BookingTransition.values()) {
+            var count = shards.isEmpty() ? 0 : apply(transition, cutoff(transition, now), shards);
+            transitioned.get(transition).add(count);
+            counts.put(transition, count);
+        }
+
+        var report = new LifecycleReport(Collections.unmodifiableMap(counts), Duration.ofNanos(System.nanoTime() - started));
+        runs.increment();
+        runNanos.add(report.duration().toNanos());
+        if (report.total() > 0) {
+            log.info("Booking lifecycle moved {} bookings in {} ms: {}", report.total(), report.duration().toMillis(), counts);
+        } else {
+            log.debug("Booking lifecycle found no due bookings ({} ms)", report.duration().toMillis());
+        }
+        return report;
+    }
+
+    /**
+     * Applies one transition to the given bookings, skipping those not due yet or no longer in the source status.
+     * Used by the timer wheel, which already knows which bookings are due.
+     */
+    public int applyDue(BookingTransition transition, List<Long> bookingIds, LocalDateTime now) {
+        var shards = coordinator.shards();
+        if (shards.isEmpty()) {
+            return 0;
+        }
+        var cutoff = cutoff(transition, now);
+        var total = 0;
+        for (var from = 0; from < bookingIds.size(); from += chunkSize) {
+            var ids = bookingIds.subList(from, Math.min(from + chunkSize, bookingIds.size()));
+            var moved = transactionTemplate.execute(status -> applyIds(transition, cutoff, ids, shards));
+            total += moved == null ? 0 : moved;
+        }
+        transitioned.get(transition).add(total);
+        return total;
+    }
+
+    /**
+     * Instant at which the transition becomes due for a booking with the given time range.
+     */
+    public static LocalDateTime dueAt(BookingTransition transition, LocalDateTime startTime, LocalDateTime endTime) {
+        return switch (transition) {
+            case REQUIRE_CHECK_IN -> startTime;
+            case MARK_NO_SHOW -> startTime.plusMinutes(CHECK_IN_GRACE_PERIOD_MINUTES);
+            case COMPLETE -> endTime;
+        };
+    }
+
+    /**
+     * Latest start (or end) time at which the transition is due.
+     */
+    public static LocalDateTime cutoff(BookingTransition transition, LocalDateTime now) {
+        return transition == BookingTransition.MARK_NO_SHOW
+                ? now.minusMinutes(CHECK_IN_GRACE_PERIOD_MINUTES)
+                : now;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        transitioned.forEach((transition, count) ->
+                FunctionCounter.builder("reservation.lifecycle.transitions", count, LongAdder::sum)
+                        .description("Bookings moved by the lifecycle")
+                        .tag("transition", transition.name())
+                        .register(registry));
+        FunctionTimer.builder("reservation.lifecycle.runs", this,
+                        lifecycle -> lifecycle.runs.sum(),
+                        lifecycle -> lifecycle.runNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("Lifecycle runs and their duration")
+                .register(registry);
+    }
+
+    private int apply(BookingTransition transition, LocalDateTime cutoff, LifecycleShards shards) {
+        var total = 0;
+        var afterId = 0L;
+        while (true) {
+            var from = afterId;
+            var chunk = transactionTemplate.execute(status -> applyChunk(transition, cutoff, from, shards));
+            if (chunk == null || chunk.selected() == 0) {
+                return total;
+            }
+            total += chunk.transitioned();
+            afterId = chunk.lastId();
+            if (chunk.selected() < chunkSize) {
+                return total;
+            }
+        }
+    }
+
+    private Chunk applyChunk(BookingTransition transition, LocalDateTime cutoff, long afterId, LifecycleShards shards) {
+        var page = PageRequest.of(0, chunkSize);
+        var count = shards.count();
+        var owned = shards.owned();
+        var due = transition.dueAtEnd()
+                ? bookingRepository.findDueByEndTime(transition.from(), cutoff, afterId, count, owned, page)
+                : bookingRepository.findDueByStartTime(transition.from(), cutoff, afterId, count, owned, page);
+        if (due.isEmpty()) {
+            return new Chunk(0, 0, afterId);
+        }
+
+        var updated = transition(transition, cutoff, due);
+        return new Chunk(due.size(), updated, due.getLast().id());
+    }
+
+    private int applyIds(BookingTransition transition, LocalDateTime cutoff, List<Long> ids, LifecycleShards shards) {
+        var due = bookingRepository.findSnapshotsByIdsAndStatus(ids, transition.from()).stream()
+                .filter(booking -> shards.owns(booking.roomId()))
+                .filter(booking -> !(transition.dueAtEnd() ? booking.endTime() : booking.startTime()).isAfter(cutoff))
+                .toList();
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        return transition(transition, cutoff, due);
+    }
+
+    private int transition(BookingTransition transition, LocalDateTime cutoff, List<BookingSnapshot> due) {
+        var ids = due.stream().map(BookingSnapshot::id).toList();
+        var updated = transition.dueAtEnd()
+                ? bookingRepository.transitionDueByEndTime(ids, transition.from(), transition.to(), cutoff)
+                : bookingRepository.transitionDueByStartTime(ids, transition.from(), transition.to(), cutoff);
+        publishTransitioned(transition, due, ids, updated);
+        return updated;
+    }
+
+    private void publishTransitioned(BookingTransition transition, List<BookingSnapshot> due, List<Long> ids, int updated) {
+        // The update only touches the selected ids, so an equal count means exactly those rows moved.
+        if (updated == due.size()) {
+            due.forEach(booking -> events.publishEvent(new BookingEvent.BookingStatusChanged(
+                    booking.id(),
+                    booking.roomId(),
+                    booking.startTime(),
+                    booking.endTime(),
+                    transition.to().name()
+            )));
+            return;
+        }
+
+        // Rows changed between select and update; publish only what actually moved.
+        bookingRepository.findAllById(ids).stream()
+                .filter(booking -> booking.getStatus() == transition.to())
+                .forEach(booking -> events.publishEvent(BookingEvent.statusChanged(booking)));
+    }
+
+    private record Chunk(int selected, int transitioned, long lastId) {}
+}
@@ -0,0 +1,175 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.booking.domain.BookingTransition;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fires booking lifecycle transitions when they are due instead of waiting for the next poll.
+ * Start, grace-deadline and end instants of active bookings within the horizon are held in a {@link TimingWheel};
+ * a single thread advances the wheel every tick and applies whatever came due, one batch per transition.
+ * New bookings are added after commit and the horizon is reloaded periodically.
+ * The {@code enforceLifecycle} poll keeps running at a lower frequency as a safety net.
+ * Due transitions are applied only for shards this instance owns (see {@link LifecycleCoordinator});
+ * bookings created on other instances reach the wheel with the next reload.
+ * <p>
+ * Configure with:
+ * reservation.lifecycle.timer-wheel.enabled=true
+ * reservation.lifecycle.timer-wheel.tick-ms=1000
+ * reservation.lifecycle.timer-wheel.horizon-ms=21600000
+ * reservation.lifecycle.timer-wheel.reload-ms=3600000
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "reservation.lifecycle.timer-wheel", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BookingLifecycleScheduler implements MeterBinder, DisposableBean {
+
+    private final BookingRepository bookingRepository;
+    private final BookingLifecycle bookingLifecycle;
+    private final Duration tick;
+    private final Duration horizon;
+
+    private final TimingWheel<Due> wheel;
+    private final Set<Due> pending = ConcurrentHashMap.newKeySet();
+    private final LongAdder fired = new LongAdder();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("booking-lifecycle-wheel").daemon().factory()
+    );
+
+    public BookingLifecycleScheduler(
+            BookingRepository bookingRepository,
+            BookingLifecycle bookingLifecycle,
+            @Value("${reservation.lifecycle.timer-wheel.tick-ms:1000}") long tickMillis,
+            @Value("${reservation.lifecycle.timer-wheel.horizon-ms:21600000}") long horizonMillis
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.bookingLifecycle = bookingLifecycle;
+        this.tick = Duration.ofMillis(tickMillis);
+        this.horizon = Duration.ofMillis(horizonMillis);
+        this.wheel = new TimingWheel<>(tick, System.currentTimeMillis());
+    }
+
+    /**
+     * A transition due for one booking.
+     */
+    public record Due(Long bookingId, BookingTransition transition) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reload();
+        ticker.scheduleWithFixedDelay(this::tick, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules every transition of active bookings that falls within the horizon.
+     * Transitions already in the wheel are not scheduled twice.
+     */
+    @Scheduled(
+            fixedDelayString = "${reservation.lifecycle.timer-wheel.reload-ms:3600000}",
+            initialDelayString = "${reservation.lifecycle.timer-wheel.reload-ms:3600000}"
+    )
+    public void reload() {
+        var now = LocalDateTime.now();
+        var until = now.plus(horizon);
+        var bookings = bookingRepository.findSnapshotsActiveBetween(Booking.blockingStatuses(), now, until);
+        bookings.forEach(booking -> schedule(booking.id(), booking.status(), booking.startTime(), booking.endTime(), until));
+        log.debug("Lifecycle timer wheel holds {} transitions after reloading {} bookings", wheel.size(), bookings.size());
+    }
+
+    @TransactionalEventListener
+    public void on(BookingEvent.BookingCreated event) {
+        schedule(
+                event.bookingId(),
+                Booking.BookingStatus.valueOf(event.status()),
+                event.startTime(),
+                event.endTime(),
+                LocalDateTime.now().plus(horizon)
+        );
+    }
+
+    /**
+     * Applies every transition that has come due. Runs on the wheel thread.
+     */
+    void tick() {
+        try {
+            var due = wheel.advance(System.currentTimeMillis());
+            if (due.isEmpty()) {
+                return;
+            }
+            due.forEach(pending::remove);
+            fired.add(due.size());
+
+            var byTransition = new EnumMap<BookingTransition, List<Long>>(BookingTransition.class);
+            due.forEach(entry -> byTransition.computeIfAbsent(entry.transition(), key -> new ArrayList<>()).add(entry.bookingId()));
+
+            var now = LocalDateTime.now();
+            byTransition.forEach((transition, bookingIds) -> bookingLifecycle.applyDue(transition, bookingIds, now));
+        } catch (RuntimeException e) {
+            // Keep the wheel thread alive; missed transitions are picked up by the lifecycle poll.
+            log.warn("Lifecycle timer wheel tick failed", e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reservation.lifecycle.timer-wheel.pending", wheel, TimingWheel::size)
+                .description("Lifecycle transitions waiting in the timer wheel")
+                .register(registry);
+        FunctionCounter.builder("reservation.lifecycle.timer-wheel.fired", fired, LongAdder::sum)
+                .description("Lifecycle transitions fired by the timer wheel")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+    }
+
+    private void schedule(Long bookingId, Booking.BookingStatus status, LocalDateTime startTime, LocalDateTime endTime, LocalDateTime until) {
+        for (var transition : BookingTransition.values()) {
+            if (!reachableFrom(status, transition)) {
+                continue;
+            }
+            var dueAt = BookingLifecycle.dueAt(transition, startTime, endTime);
+            var due = new Due(bookingId, transition);
+            if (!dueAt.isAfter(until) && pending.add(due)) {
+                wheel.schedule(due, dueAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+        }
+    }
+
+    private static boolean reachableFrom(Booking.BookingStatus status, BookingTransition transition) {
+        return switch (transition) {
+            case REQUIRE_CHECK_IN -> status == Booking.BookingStatus.CONFIRMED;
+            case MARK_NO_SHOW -> status == Booking.BookingStatus.CONFIRMED || status == Booking.BookingStatus.CHECK_IN_REQUIRED;
+            case COMPLETE -> Booking.blockingStatuses().contains(status);
+        };
+    }
+}
@@ -1,38 +1,56 @@
 package com.mykulle.booking.system.reservation.booking.application;
 
 import com.mykulle.booking.system.reservation.booking.domain.Booking;
-import com.mykulle.booking.system.reservation.booking.domain.Booking.BookingStatus;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
 import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.rooms.domain.Room;
 import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
 import com.mykulle.booking.system.useraccount.api.AuthorizationService;
 import com.mykulle.booking.system.useraccount.api.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Transactional
 @Service
 @RequiredArgsConstructor
 public class BookingManagement {
 
-    // Keep as constant for now. If you later want config-driven, switch to a property-backed value.
-    private static final long CHECK_IN_GRACE_PERIOD_MINUTES = 15L;
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
 
     private final BookingRepository bookingRepository;
     private final RoomRepository roomRepository;
     private final BookingMapper mapper;
     private final CurrentUserProvider currentUserProvider;
     private final AuthorizationService authorizationService;
+    private final RoomOccupancyIndex occupancyIndex;
+    private final ApplicationEventPublisher events;
+    private final BookingAdmission bookingAdmission;
+    private final BookingLifecycle bookingLifecycle;
+    private final BookingAlternatives bookingAlternatives;
+    private final PlatformTransactionManager transactionManager;
 
     /**
      * Creates a booking for a given room and time range.
      * Validates that the room exists, is enabled, and has no overlapping blocking bookings.
+     * The checks and the insert are delegated to the configured {@link BookingAdmission}.
+     * A conflict is reported as {@link BookingConflictException} with suggested alternatives.
+     * Runs outside a surrounding transaction: the booking and its event are committed together in one opened here,
+     * unless the admission commits on its own (see {@link BookingAdmission#joinsCallerTransaction()}).
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookingDTO createBooking(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
         if (roomId == null) throw new IllegalArgumentException("roomId is required");
         var currentUser = currentUserProvider.currentUser();
@@ -43,20 +61,27 @@ public class BookingManagement {
             throw new IllegalArgumentException("startTime must not be in the past");
         }
 
-        var room = roomRepository.findByIdForUpdate(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("Room not found with id: " + roomId));
-
-        if (room.isDisabled()) {
-            throw new IllegalStateException("Cannot create booking for a disabled room");
-        }
-
-        if (hasOverlappingBlockingBooking(roomId, timeRange)) {
-            throw new IllegalStateException("Room is not available for the requested time range");
-        }
+        rejectKnownConflicts(roomId, timeRange);
 
         var ownerUserId = normalizeOwnerUserId(currentUser.subject());
-        var booking = new Booking(roomId, ownerUserId, timeRange);
-        return mapper.toDTO(bookingRepository.save(booking));
+        try {
+            if (!bookingAdmission.joinsCallerTransaction()) {
+                return bookingAdmission.admit(roomId, ownerUserId, timeRange);
+            }
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                var booking = bookingAdmission.admit(roomId, ownerUserId, timeRange);
+                events.publishEvent(new BookingEvent.BookingCreated(
+                        booking.id(),
+                        booking.roomId(),
+                        booking.startTime(),
+                        booking.endTime(),
+                        booking.status()
+                ));
+                return booking;
+            });
+        } catch (BookingConflictException e) {
+            throw new BookingConflictException(bookingAlternatives.suggest(roomId, timeRange));
+        }
     }
 
     /**
@@ -70,7 +95,9 @@ public class BookingManagement {
 
         authorizationService.requireOwnerOrStaff(booking.getBookedByUserId());
         booking.cancel(LocalDateTime.now());
-        return mapper.toDTO(bookingRepository.save(booking));
+        var saved = bookingRepository.save(booking);
+        events.publishEvent(BookingEvent.statusChanged(saved));
+        return mapper.toDTO(saved);
     }
 
     /**
@@ -84,7 +111,9 @@ public class BookingManagement {
 
         authorizationService.requireOwnerOrStaff(booking.getBookedByUserId());
         booking.checkIn();
-        return mapper.toDTO(bookingRepository.save(booking));
+        var saved = bookingRepository.save(booking);
+        events.publishEvent(BookingEvent.statusChanged(saved));
+        return mapper.toDTO(saved);
     }
 
     @Transactional(readOnly = true)
@@ -95,22 +124,30 @@ public class BookingManagement {
                 .map(mapper::toDTO);
     }
 
+    /**
+     * Returns one page of bookings ordered by id, starting after {@code cursor}.
+     */
     @Transactional(readOnly = true)
-    public List<BookingDTO> fetchBookings() {
-        return bookingRepository.findAll()
-                .stream()
-                .map(mapper::toDTO)
-                .toList();
+    public BookingPage fetchBookings(BookingFilter filter, Long cursor, Integer limit) {
+        return fetchPage(null, filter, cursor, limit);
     }
 
     @Transactional(readOnly = true)
-    public List<BookingDTO> fetchBookingsByRoom(Long roomId) {
+    public BookingPage fetchBookingsByRoom(Long roomId, BookingFilter filter, Long cursor, Integer limit) {
         if (roomId == null) throw new IllegalArgumentException("roomId is required");
 
-        return bookingRepository.findByRoomId(roomId)
-                .stream()
-                .map(mapper::toDTO)
-                .toList();
+        return fetchPage(roomId, filter, cursor, limit);
+    }
+
+    /**
+     * Hands every matching booking to {@code sink} while reading from a database cursor,
+     * so memory use does not grow with the number of bookings.
+     */
+    @Transactional(readOnly = true)
+    public void streamBookings(Long roomId, BookingFilter filter, Consumer<BookingDTO> sink) {
+        try (var bookings = bookingRepository.streamSnapshots(roomId, parseStatus(filter.status()), filter.from(), filter.until())) {
+            bookings.map(mapper::toDTO).forEach(sink);
+        }
     }
 
     /**
@@ -118,35 +155,71 @@ public class BookingManagement {
      * Availability is derived from:
      * - Room operational status (enabled/disabled)
      * - Existence of blocking bookings in the requested time range
+     * A free room is answered from the occupancy index when it covers the room and range. Anything else is
+     * answered from the database, since the index of this instance may miss a change made on another one.
      */
     @Transactional(readOnly = true)
     public RoomAvailabilityDTO fetchRoomAvailability(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
         if (roomId == null) throw new IllegalArgumentException("roomId is required");
 
+        var timeRange = new Booking.TimeRange(startTime, endTime);
+
+        var indexed = occupancyIndex.lookup(roomId, timeRange);
+        if (indexed.isPresent() && indexed.get() == RoomOccupancyIndex.Occupancy.FREE) {
+            return new RoomAvailabilityDTO(roomId, startTime, endTime, "AVAILABLE");
+        }
+
         var room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new IllegalArgumentException("Room not found with id: " + roomId));
 
-        var timeRange = new Booking.TimeRange(startTime, endTime);
-
         if (room.isDisabled()) {
             return new RoomAvailabilityDTO(roomId, startTime, endTime, "UNAVAILABLE");
         }
 
         var unavailable = hasOverlappingBlockingBooking(roomId, timeRange);
+        if (!unavailable && indexed.isPresent()) {
+            occupancyIndex.reloadRoom(roomId);
+        }
         return new RoomAvailabilityDTO(roomId, startTime, endTime, unavailable ? "UNAVAILABLE" : "AVAILABLE");
     }
 
     /**
      * Scheduled task to enforce booking lifecycle rules.
      * Configure with:
-     * reservation.lifecycle.delay-ms=60000
+     * reservation.lifecycle.delay-ms=300000
+     * Runs outside a surrounding transaction; {@link BookingLifecycle} commits chunk by chunk.
+     * With the timer wheel enabled ({@link BookingLifecycleScheduler}) this poll is only a safety net.
      */
-    @Scheduled(fixedDelayString = "${reservation.lifecycle.delay-ms:60000}")
+    @Scheduled(fixedDelayString = "${reservation.lifecycle.delay-ms:300000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void enforceLifecycle() {
-        var now = LocalDateTime.now();
-        moveConfirmedBookingsToCheckInRequired(now);
-        markNoShows(now);
-        completeCheckedInBookings(now);
+        bookingLifecycle.run(LocalDateTime.now());
+    }
+
+    /**
+     * Fails fast, before admission, when the occupancy index already knows the booking cannot succeed.
+     * The index neither admits nor rejects a booking on its own: a rejection is confirmed against the database
+     * first, because the index of this instance may miss a cancellation or re-enabled room from another one.
+     * A rejection the database does not confirm reloads the room and leaves the decision to admission.
+     */
+    private void rejectKnownConflicts(Long roomId, Booking.TimeRange timeRange) {
+        occupancyIndex.lookup(roomId, timeRange).ifPresent(occupancy -> {
+            switch (occupancy) {
+                case ROOM_DISABLED -> {
+                    if (roomRepository.findById(roomId).map(Room::isDisabled).orElse(false)) {
+                        throw new IllegalStateException("Cannot create booking for a disabled room");
+                    }
+                    occupancyIndex.reloadRoom(roomId);
+                }
+                case OCCUPIED -> {
+                    if (hasOverlappingBlockingBooking(roomId, timeRange)) {
+                        throw new BookingConflictException(bookingAlternatives.suggest(roomId, timeRange));
+                    }
+                    occupancyIndex.reloadRoom(roomId);
+                }
+                case FREE -> { }
+            }
+        });
     }
 
     private boolean hasOverlappingBlockingBooking(Long roomId, Booking.TimeRange timeRange) {
@@ -158,39 +231,37 @@ public class BookingManagement {
         );
     }
 
-    private void moveConfirmedBookingsToCheckInRequired(LocalDateTime now) {
-        var toUpdate = bookingRepository.findByStatusAndTimeRangeStartTimeLessThanEqual(BookingStatus.CONFIRMED, now);
-
-        toUpdate.forEach(Booking::requireCheckIn);
-
-        if (!toUpdate.isEmpty()) {
-            bookingRepository.saveAll(toUpdate);
+    private BookingPage fetchPage(Long roomId, BookingFilter filter, Long cursor, Integer limit) {
+        var pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
         }
-    }
 
-    private void markNoShows(LocalDateTime now) {
-        var toReview = bookingRepository.findByStatusAndTimeRangeStartTimeLessThanEqual(
-                BookingStatus.CHECK_IN_REQUIRED,
-                now
+        // Read one extra row to learn whether another page follows.
+        var rows = bookingRepository.findSnapshotsAfter(
+                cursor == null ? 0L : cursor,
+                roomId,
+                parseStatus(filter.status()),
+                filter.from(),
+                filter.until(),
+                PageRequest.of(0, pageSize + 1)
+        );
+        var hasMore = rows.size() > pageSize;
+        var page = hasMore ? rows.subList(0, pageSize) : rows;
+        return new BookingPage(
+                page.stream().map(mapper::toDTO).toList(),
+                hasMore ? page.getLast().id() : null
         );
-
-        var toUpdate = toReview.stream()
-                .filter(b -> !now.isBefore(b.getTimeRange().startTime().plusMinutes(CHECK_IN_GRACE_PERIOD_MINUTES)))
-                .peek(Booking::markNoShow)
-                .toList();
-
-        if (!toUpdate.isEmpty()) {
-            bookingRepository.saveAll(toUpdate);
-        }
     }
 
-    private void completeCheckedInBookings(LocalDateTime now) {
-        var toUpdate = bookingRepository.findByStatusAndTimeRangeEndTimeLessThanEqual(BookingStatus.CHECKED_IN, now);
-
-        toUpdate.forEach(Booking::complete);
-
-        if (!toUpdate.isEmpty()) {
-            bookingRepository.saveAll(toUpdate);
+    private static Booking.BookingStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return Booking.BookingStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown booking status: " + status);
         }
     }
 
@@ -1,6 +1,8 @@
 package com.mykulle.booking.system.reservation.booking.application;
 
 import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingChange;
+import com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
@@ -17,5 +19,9 @@ public interface BookingMapper {
     })
     BookingDTO toDTO(Booking booking);
 
+    BookingDTO toDTO(BookingSnapshot booking);
+
+    BookingChangeDTO toDTO(BookingChange change);
+
     Booking toEntity(BookingDTO bookingDTO);
 }
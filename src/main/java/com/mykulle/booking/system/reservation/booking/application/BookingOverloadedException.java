@@ -0,0 +1,22 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import java.time.Duration;
+
+/**
+ * A booking write was shed because too many are in flight, overall or for its room,
+ * or because admission is not ready to take it yet.
+ * The caller should retry after {@link #getRetryAfter()}.
+ */
+public class BookingOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public BookingOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
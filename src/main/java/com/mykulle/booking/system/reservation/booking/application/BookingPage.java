@@ -0,0 +1,13 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import java.util.List;
+
+/**
+ * One page of bookings ordered by id. {@code nextCursor} is passed back to fetch the next page
+ * and is null on the last page.
+ */
+public record BookingPage(
+        List<BookingDTO> items,
+        Long nextCursor
+) {
+}
@@ -0,0 +1,54 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingOverlapQueries.RequestedRange;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Conflict check and insert shared by the {@link BookingAdmission} implementations for recurring series.
+ */
+final class BookingSeries {
+
+    private BookingSeries() {
+    }
+
+    /**
+     * Checks every occurrence with one set-based overlap query and reports all conflicting occurrences at once.
+     */
+    static void rejectConflicts(BookingRepository bookingRepository, Long roomId, List<Booking.TimeRange> occurrences) {
+        var overlapping = bookingRepository.findOverlapping(occurrences.stream()
+                .map(occurrence -> new RequestedRange(roomId, occurrence))
+                .toList());
+        if (!overlapping.isEmpty()) {
+            throw BookingConflictException.forOccurrences(overlapping.stream()
+                    .sorted()
+                    .map(index -> occurrences.get(index).startTime())
+                    .toList());
+        }
+    }
+
+    static List<BookingDTO> insert(
+            BookingRepository bookingRepository,
+            Long roomId,
+            String ownerUserId,
+            List<Booking.TimeRange> occurrences,
+            UUID seriesId
+    ) {
+        // Pooled sequence ids let Hibernate send the occurrences as one JDBC batch.
+        var bookings = occurrences.stream()
+                .map(occurrence -> new Booking(roomId, ownerUserId, occurrence, seriesId))
+                .toList();
+        return bookingRepository.saveAll(bookings).stream()
+                .map(booking -> new BookingDTO(
+                        booking.getId(),
+                        booking.getRoomId(),
+                        booking.getTimeRange().startTime(),
+                        booking.getTimeRange().endTime(),
+                        booking.getStatus().name()
+                ))
+                .toList();
+    }
+}
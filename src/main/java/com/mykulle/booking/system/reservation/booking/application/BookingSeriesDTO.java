@@ -0,0 +1,10 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BookingSeriesDTO(
+        UUID seriesId,
+        List<BookingDTO> bookings
+) {
+}
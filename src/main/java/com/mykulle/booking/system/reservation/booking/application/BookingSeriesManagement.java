@@ -0,0 +1,67 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.useraccount.api.CurrentUserProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Transactional
+@Service
+@RequiredArgsConstructor
+public class BookingSeriesManagement {
+
+    private final CurrentUserProvider currentUserProvider;
+    private final ApplicationEventPublisher events;
+    private final BookingAdmission bookingAdmission;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Books a room for every occurrence of a recurrence, starting with the given time range.
+     * All occurrences are checked with one overlap query and inserted as one batch under a shared series id;
+     * if any occurrence conflicts, nothing is booked and the conflicting occurrences are reported.
+     * Runs outside a surrounding transaction, like {@link BookingManagement#createBooking}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BookingSeriesDTO createSeries(Long roomId, LocalDateTime startTime, LocalDateTime endTime, Recurrence recurrence) {
+        if (roomId == null) throw new IllegalArgumentException("roomId is required");
+        if (recurrence == null) throw new IllegalArgumentException("recurrence is required");
+        var currentUser = currentUserProvider.currentUser();
+
+        var first = new Booking.TimeRange(startTime, endTime);
+        if (first.startTime().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("startTime must not be in the past");
+        }
+
+        var occurrences = recurrence.expand(first);
+        var seriesId = UUID.randomUUID();
+        var ownerUserId = normalizeOwnerUserId(currentUser.subject());
+        if (!bookingAdmission.joinsCallerTransaction()) {
+            return new BookingSeriesDTO(seriesId, bookingAdmission.admitSeries(roomId, ownerUserId, occurrences, seriesId));
+        }
+        var bookings = new TransactionTemplate(transactionManager).execute(status -> {
+            var admitted = bookingAdmission.admitSeries(roomId, ownerUserId, occurrences, seriesId);
+            admitted.forEach(booking -> events.publishEvent(new BookingEvent.BookingCreated(
+                    booking.id(),
+                    booking.roomId(),
+                    booking.startTime(),
+                    booking.endTime(),
+                    booking.status()
+            )));
+            return admitted;
+        });
+        return new BookingSeriesDTO(seriesId, bookings);
+    }
+
+    private static String normalizeOwnerUserId(String subject) {
+        return (subject == null || subject.isBlank()) ? "anonymous" : subject;
+    }
+}
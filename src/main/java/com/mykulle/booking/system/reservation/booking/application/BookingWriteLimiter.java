@@ -0,0 +1,174 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive concurrency limit for booking writes (AIMD).
+ * Every write that finishes within {@code latency-threshold-ms} while at least half the limit is in use
+ * raises the limit by {@code 1/limit}, about one per round of writes; a slower write or a lock or query timeout cuts it by {@code backoff-ratio}.
+ * Writes beyond the limit are rejected at once with {@link BookingOverloadedException} instead of queueing on
+ * room locks. Writes to one room serialize on its lock anyway, so a room may have at most
+ * {@code max-in-flight-per-room} writes in flight and the excess is shed the same way.
+ * Only a write that found its room idle feeds the limit: the others spend their time queued on the room lock,
+ * which says nothing about database load, so a hot room cannot cut the limit for everyone else.
+ * <p>
+ * Configure with the {@code reservation.booking.limiter.*} properties.
+ */
+@Component
+public class BookingWriteLimiter implements MeterBinder {
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final int maxInFlightPerRoom;
+    private final Duration retryAfter;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Integer> inFlightByRoom = new HashMap<>();
+    private final LongAdder rejectedOverall = new LongAdder();
+    private final LongAdder rejectedRoom = new LongAdder();
+    private double limit;
+    private int inFlight;
+
+    public BookingWriteLimiter(
+            @Value("${reservation.booking.limiter.enabled:true}") boolean enabled,
+            @Value("${reservation.booking.limiter.initial-limit:20}") int initialLimit,
+            @Value("${reservation.booking.limiter.min-limit:4}") int minLimit,
+            @Value("${reservation.booking.limiter.max-limit:200}") int maxLimit,
+            @Value("${reservation.booking.limiter.latency-threshold-ms:250}") long latencyThresholdMillis,
+            @Value("${reservation.booking.limiter.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${reservation.booking.limiter.max-in-flight-per-room:2}") int maxInFlightPerRoom,
+            @Value("${reservation.booking.limiter.retry-after-seconds:1}") long retryAfterSeconds
+    ) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("reservation.booking.limiter limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1 || maxInFlightPerRoom < 1) {
+            throw new IllegalArgumentException("reservation.booking.limiter backoff-ratio must be in (0, 1) and max-in-flight-per-room positive");
+        }
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = Duration.ofMillis(latencyThresholdMillis).toNanos();
+        this.backoffRatio = backoffRatio;
+        this.maxInFlightPerRoom = maxInFlightPerRoom;
+        this.retryAfter = Duration.ofSeconds(retryAfterSeconds);
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Runs {@code write} for the room if the limits allow it, and adjusts the limit by how it went.
+     */
+    public <T> T execute(Long roomId, Supplier<T> write) {
+        if (!enabled) {
+            return write.get();
+        }
+
+        var roomIdle = acquire(roomId);
+        var started = System.nanoTime();
+        var dropped = false;
+        try {
+            return write.get();
+        } catch (TransientDataAccessException e) {
+            dropped = true;
+            throw e;
+        } finally {
+            release(roomId, roomIdle, dropped || System.nanoTime() - started > latencyThresholdNanos);
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reservation.booking.limiter.limit", this, BookingWriteLimiter::limit)
+                .description("Current adaptive limit of concurrent booking writes")
+                .register(registry);
+        Gauge.builder("reservation.booking.limiter.in-flight", this, BookingWriteLimiter::inFlight)
+                .description("Booking writes in progress")
+                .register(registry);
+        FunctionCounter.builder("reservation.booking.limiter.rejected", rejectedOverall, LongAdder::sum)
+                .tag("reason", "limit")
+                .description("Booking writes shed because the overall limit was reached")
+                .register(registry);
+        FunctionCounter.builder("reservation.booking.limiter.rejected", rejectedRoom, LongAdder::sum)
+                .tag("reason", "room")
+                .description("Booking writes shed because their room had its maximum in flight")
+                .register(registry);
+    }
+
+    /**
+     * Takes a slot for the write; returns whether no other write to the room was in flight.
+     */
+    private boolean acquire(Long roomId) {
+        lock.lock();
+        try {
+            var current = (int) limit;
+            if (inFlight >= current) {
+                rejectedOverall.increment();
+                throw new BookingOverloadedException("Too many booking requests, try again shortly", retryAfter);
+            }
+            var roomInFlight = inFlightByRoom.getOrDefault(roomId, 0);
+            if (roomInFlight >= maxInFlightPerRoom) {
+                rejectedRoom.increment();
+                throw new BookingOverloadedException("Too many booking requests for this room, try again shortly", retryAfter);
+            }
+            inFlight++;
+            inFlightByRoom.put(roomId, roomInFlight + 1);
+            return roomInFlight == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Long roomId, boolean sampled, boolean overloaded) {
+        lock.lock();
+        try {
+            // grow only while the limit is actually in use, so a quiet period does not inflate it
+            var saturated = inFlight >= limit / 2;
+            inFlight--;
+            inFlightByRoom.computeIfPresent(roomId, (id, count) -> count == 1 ? null : count - 1);
+            if (!sampled) {
+                return;
+            }
+            if (overloaded) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (saturated) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingOverlapConstraint;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Optimistic admission that lets the database reject overlaps through {@link BookingOverlapConstraint}.
+ * No room lock and no separate overlap query: the booking is inserted right away and a constraint
+ * violation is reported as a conflict. Requires Postgres.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reservation.booking", name = "admission-mode", havingValue = "exclusion-constraint")
+@RequiredArgsConstructor
+public class ExclusionConstraintAdmission implements BookingAdmission, InitializingBean {
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final BookingMapper mapper;
+    private final BookingOverlapConstraint overlapConstraint;
+
+    @Override
+    public void afterPropertiesSet() {
+        overlapConstraint.ensureInstalled();
+    }
+
+    @Override
+    public BookingDTO admit(Long roomId, String ownerUserId, Booking.TimeRange timeRange) {
+        requireEnabledRoom(roomId);
+
+        try {
+            return mapper.toDTO(bookingRepository.saveAndFlush(new Booking(roomId, ownerUserId, timeRange)));
+        } catch (DataIntegrityViolationException ex) {
+            if (BookingOverlapConstraint.isViolatedBy(ex)) {
+                throw new BookingConflictException();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Runs the set-based overlap check first so a series conflict names its occurrences;
+     * the constraint still rejects a concurrent booking that slips in before the batch insert.
+     */
+    @Override
+    public List<BookingDTO> admitSeries(Long roomId, String ownerUserId, List<Booking.TimeRange> occurrences, UUID seriesId) {
+        requireEnabledRoom(roomId);
+        BookingSeries.rejectConflicts(bookingRepository, roomId, occurrences);
+
+        try {
+            return BookingSeries.insert(bookingRepository, roomId, ownerUserId, occurrences, seriesId);
+        } catch (DataIntegrityViolationException ex) {
+            if (BookingOverlapConstraint.isViolatedBy(ex)) {
+                throw new BookingConflictException();
+            }
+            throw ex;
+        }
+    }
+
+    private void requireEnabledRoom(Long roomId) {
+        var room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("Room not found with id: " + roomId));
+
+        if (room.isDisabled()) {
+            throw new IllegalStateException("Cannot create booking for a disabled room");
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.LifecycleLease;
+import com.mykulle.booking.system.reservation.booking.domain.LifecycleLeaseRepository;
+import com.mykulle.booking.system.reservation.booking.domain.LifecycleMember;
+import com.mykulle.booking.system.reservation.booking.domain.LifecycleMemberRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which lifecycle shards this instance processes, so several instances can share
+ * the booking lifecycle without doing the same work twice.
+ * With leases enabled, every shard has a row in {@code lifecycle_leases}; an instance holds a shard
+ * by renewing its lease before it expires and takes free or expired shards up to its fair share
+ * ({@code shards / live instances}, rounded up). Live instances are counted from the heartbeats every instance
+ * renews in {@code lifecycle_members}, so an instance that holds no shard yet still lowers the others' share;
+ * they hand their extra shards back and the new instance picks them up on its next renewal.
+ * Leases use plain conditional updates and work on any database.
+ * <p>
+ * Leases only avoid duplicate work: lifecycle updates stay guarded by status, so an overlap
+ * during a lease handover costs a no-op update, not a wrong transition.
+ * <p>
+ * Configure with:
+ * reservation.lifecycle.lease.enabled=false
+ * reservation.lifecycle.lease.shards=16
+ * reservation.lifecycle.lease.ttl-ms=30000
+ * reservation.lifecycle.lease.renew-ms=10000
+ */
+@Slf4j
+@Component
+public class LifecycleCoordinator implements MeterBinder, DisposableBean {
+
+    private final LifecycleLeaseRepository leaseRepository;
+    private final LifecycleMemberRepository memberRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int shardCount;
+    private final Duration ttl;
+    private final String owner = UUID.randomUUID().toString();
+
+    private volatile LifecycleShards current;
+    private volatile LocalDateTime validUntil = LocalDateTime.MIN;
+
+    public LifecycleCoordinator(
+            LifecycleLeaseRepository leaseRepository,
+            LifecycleMemberRepository memberRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${reservation.lifecycle.lease.enabled:false}") boolean enabled,
+            @Value("${reservation.lifecycle.lease.shards:16}") int shardCount,
+            @Value("${reservation.lifecycle.lease.ttl-ms:30000}") long ttlMillis
+    ) {
+        if (shardCount < 1) throw new IllegalArgumentException("reservation.lifecycle.lease.shards must be positive");
+        this.leaseRepository = leaseRepository;
+        this.memberRepository = memberRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.shardCount = shardCount;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.current = enabled ? new LifecycleShards(shardCount, Set.of()) : LifecycleShards.all();
+    }
+
+    /**
+     * Shards this instance may process right now. Empty when leases could not be renewed in time.
+     */
+    public LifecycleShards shards() {
+        if (enabled && !LocalDateTime.now().isBefore(validUntil)) {
+            return new LifecycleShards(shardCount, Set.of());
+        }
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        for (var shard = 0; shard < shardCount; shard++) {
+            createLeaseIfMissing(shard);
+        }
+        renew();
+    }
+
+    /**
+     * Renews this instance's heartbeat and held leases, takes free ones up to the fair share
+     * and hands back those beyond it.
+     */
+    @Scheduled(fixedDelayString = "${reservation.lifecycle.lease.renew-ms:10000}")
+    public void renew() {
+        if (!enabled) {
+            return;
+        }
+        var held = current.owned();
+        var started = LocalDateTime.now();
+        var renewed = transactionTemplate.execute(status -> {
+            var now = LocalDateTime.now();
+            var expiresAt = now.plus(ttl);
+            if (memberRepository.heartbeat(owner, expiresAt) == 0) {
+                memberRepository.save(new LifecycleMember(owner, expiresAt));
+            }
+            memberRepository.deleteExpired(now);
+            var liveMembers = Math.max(1, memberRepository.countLive(now));
+            var fairShare = (int) Math.ceil((double) shardCount / liveMembers);
+
+            var owned = new HashSet<Integer>();
+            held.stream().sorted().forEach(shard -> {
+                if (owned.size() < fairShare && leaseRepository.acquire(shard, owner, expiresAt, now) == 1) {
+                    owned.add(shard);
+                }
+            });
+
+            // Start at a random shard so instances do not all race for the same ones.
+            var offset = ThreadLocalRandom.current().nextInt(shardCount);
+            for (var i = 0; i < shardCount && owned.size() < fairShare; i++) {
+                var shard = (offset + i) % shardCount;
+                if (!owned.contains(shard) && leaseRepository.acquire(shard, owner, expiresAt, now) == 1) {
+                    owned.add(shard);
+                }
+            }
+
+            var surplus = new HashSet<>(held);
+            surplus.removeAll(owned);
+            if (!surplus.isEmpty()) {
+                leaseRepository.release(surplus, owner, now);
+            }
+            return owned;
+        });
+
+        // Stop a little before the lease expires in the database, to leave room for clock drift.
+        validUntil = started.plus(ttl.multipliedBy(2).dividedBy(3));
+        if (!renewed.equals(held)) {
+            log.info("Lifecycle shards owned by this instance changed from {} to {}", held, renewed);
+        }
+        current = new LifecycleShards(shardCount, renewed);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reservation.lifecycle.shards.owned", this, coordinator -> coordinator.shards().owned().size())
+                .description("Lifecycle shards processed by this instance")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        if (!enabled) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!current.isEmpty()) {
+                leaseRepository.release(current.owned(), owner, LocalDateTime.now());
+            }
+            memberRepository.deleteById(owner);
+        });
+    }
+
+    private void createLeaseIfMissing(int shard) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!leaseRepository.existsById(shard)) {
+                    leaseRepository.saveAndFlush(new LifecycleLease(shard));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the row concurrently.
+            log.debug("Lifecycle lease {} already exists", shard);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import java.util.Set;
+
+/**
+ * The lifecycle shards this instance currently owns. A booking belongs to shard {@code roomId mod count}.
+ */
+public record LifecycleShards(int count, Set<Integer> owned) {
+
+    public LifecycleShards {
+        if (count < 1) throw new IllegalArgumentException("count must be positive");
+        owned = Set.copyOf(owned);
+    }
+
+    /**
+     * A single shard covering every room, for instances that do not coordinate.
+     */
+    public static LifecycleShards all() {
+        return new LifecycleShards(1, Set.of(0));
+    }
+
+    public static int shardOf(Long roomId, int count) {
+        return Math.floorMod(roomId, count);
+    }
+
+    public boolean owns(Long roomId) {
+        return owned.contains(shardOf(roomId, count));
+    }
+
+    public boolean isEmpty() {
+        return owned.isEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Repeats a booking daily or weekly, either up to and including {@code until} or {@code count} times.
+ */
+public record Recurrence(Frequency frequency, LocalDate until, Integer count) {
+
+    public static final int MAX_OCCURRENCES = 200;
+
+    public Recurrence {
+        if (frequency == null) {
+            throw new IllegalArgumentException("frequency is required");
+        }
+        if ((until == null) == (count == null)) {
+            throw new IllegalArgumentException("Exactly one of until and count is required");
+        }
+        if (count != null && (count < 1 || count > MAX_OCCURRENCES)) {
+            throw new IllegalArgumentException("count must be between 1 and " + MAX_OCCURRENCES);
+        }
+    }
+
+    /**
+     * Returns the occurrences, starting with {@code first}. Bookings are at most two hours long,
+     * so daily and weekly occurrences never overlap each other.
+     */
+    public List<Booking.TimeRange> expand(Booking.TimeRange first) {
+        if (until != null && until.isBefore(first.startTime().toLocalDate())) {
+            throw new IllegalArgumentException("until must not be before the first occurrence");
+        }
+
+        var occurrences = new ArrayList<Booking.TimeRange>();
+        var start = first.startTime();
+        var end = first.endTime();
+        while (count != null ? occurrences.size() < count : !start.toLocalDate().isAfter(until)) {
+            if (occurrences.size() == MAX_OCCURRENCES) {
+                throw new IllegalArgumentException("A series may have at most " + MAX_OCCURRENCES + " occurrences");
+            }
+            occurrences.add(new Booking.TimeRange(start, end));
+            start = start.plusDays(frequency.days);
+            end = end.plusDays(frequency.days);
+        }
+        return occurrences;
+    }
+
+    public enum Frequency {
+        DAILY(1),
+        WEEKLY(7);
+
+        private final int days;
+
+        Frequency(int days) {
+            this.days = days;
+        }
+
+        public static Frequency from(String value) {
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException("frequency is required");
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown frequency: " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.rooms.domain.Room;
+import com.mykulle.booking.system.reservation.rooms.domain.RoomDayLock;
+import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default admission: takes a lock, checks for overlapping blocking bookings and inserts.
+ * The lock granularity is configured with reservation.booking.lock-granularity:
+ * - room (default): row lock on the reservation room; every booking attempt for the room is serialized
+ * - room-day: Postgres advisory lock per room and day touched by the booking
+ */
+@Component
+@ConditionalOnProperty(prefix = "reservation.booking", name = "admission-mode", havingValue = "room-lock", matchIfMissing = true)
+public class RoomLockAdmission implements BookingAdmission, MeterBinder {
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final RoomDayLock roomDayLock;
+    private final BookingMapper mapper;
+    private final LockGranularity granularity;
+
+    private final Map<LockGranularity, LockContention> contention = new EnumMap<>(LockGranularity.class);
+
+    public RoomLockAdmission(
+            BookingRepository bookingRepository,
+            RoomRepository roomRepository,
+            RoomDayLock roomDayLock,
+            BookingMapper mapper,
+            @Value("${reservation.booking.lock-granularity:room}") String granularity
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+        this.roomDayLock = roomDayLock;
+        this.mapper = mapper;
+        this.granularity = LockGranularity.from(granularity);
+        for (var value : LockGranularity.values()) {
+            contention.put(value, new LockContention());
+        }
+    }
+
+    @Override
+    public BookingDTO admit(Long roomId, String ownerUserId, Booking.TimeRange timeRange) {
+        lockEnabledRoom(roomId, List.of(timeRange));
+
+        var overlapping = bookingRepository.existsOverlappingBooking(
+                roomId,
+                timeRange.startTime(),
+                timeRange.endTime(),
+                Booking.blockingStatuses()
+        );
+        if (overlapping) {
+            throw new BookingConflictException();
+        }
+
+        return mapper.toDTO(bookingRepository.save(new Booking(roomId, ownerUserId, timeRange)));
+    }
+
+    @Override
+    public List<BookingDTO> admitSeries(Long roomId, String ownerUserId, List<Booking.TimeRange> occurrences, UUID seriesId) {
+        lockEnabledRoom(roomId, occurrences);
+        BookingSeries.rejectConflicts(bookingRepository, roomId, occurrences);
+        return BookingSeries.insert(bookingRepository, roomId, ownerUserId, occurrences, seriesId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        contention.forEach((lockGranularity, stats) -> FunctionTimer.builder(
+                        "reservation.admission.lock.wait",
+                        stats,
+                        LockContention::acquisitions,
+                        LockContention::waitNanos,
+                        TimeUnit.NANOSECONDS
+                )
+                .description("Time spent waiting for the booking admission lock")
+                .tag("granularity", lockGranularity.value)
+                .register(registry));
+    }
+
+    private void lockEnabledRoom(Long roomId, List<Booking.TimeRange> timeRanges) {
+        var room = lock(roomId, timeRanges)
+                .orElseThrow(() -> new IllegalArgumentException("Room not found with id: " + roomId));
+
+        if (room.isDisabled()) {
+            throw new IllegalStateException("Cannot create booking for a disabled room");
+        }
+    }
+
+    private Optional<Room> lock(Long roomId, List<Booking.TimeRange> timeRanges) {
+        var started = System.nanoTime();
+        try {
+            if (granularity == LockGranularity.ROOM) {
+                return roomRepository.findByIdForUpdate(roomId);
+            }
+
+            // Ascending day order keeps bookings that span midnight, and series, from deadlocking each other.
+            var days = new TreeSet<LocalDate>();
+            for (var timeRange : timeRanges) {
+                var day = timeRange.startTime().toLocalDate();
+                var lastDay = timeRange.endTime().minusNanos(1).toLocalDate();
+                while (!day.isAfter(lastDay)) {
+                    days.add(day);
+                    day = day.plusDays(1);
+                }
+            }
+            days.forEach(day -> roomDayLock.acquire(roomId, day));
+            return roomRepository.findById(roomId);
+        } finally {
+            contention.get(granularity).record(System.nanoTime() - started);
+        }
+    }
+
+    public enum LockGranularity {
+        ROOM("room"),
+        ROOM_DAY("room-day");
+
+        private final String value;
+
+        LockGranularity(String value) {
+            this.value = value;
+        }
+
+        static LockGranularity from(String value) {
+            if (value == null || value.isBlank()) {
+                return ROOM;
+            }
+            for (var granularity : values()) {
+                if (granularity.value.equalsIgnoreCase(value.trim())
+                        || granularity.name().equalsIgnoreCase(value.trim())) {
+                    return granularity;
+                }
+            }
+            throw new IllegalArgumentException("Unknown lock granularity: " + value);
+        }
+    }
+
+    private static final class LockContention {
+
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+
+        void record(long nanos) {
+            acquisitions.increment();
+            waitNanos.add(nanos);
+        }
+
+        long acquisitions() {
+            return acquisitions.sum();
+        }
+
+        double waitNanos() {
+            return waitNanos.sum();
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.catalog.RoomCatalogEvent;
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot;
+import com.mykulle.booking.system.reservation.rooms.domain.Room;
+import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-memory occupancy of reservation rooms, keyed by room id.
+ * Each room keeps its blocking bookings ordered by start time, so availability checks
+ * are answered without a database round-trip.
+ * The index is loaded on startup and kept current from booking and catalog events after commit.
+ * A reload builds a fresh index and swaps it in, so bookings and rooms removed elsewhere do not linger;
+ * changes applied while it reads are replayed onto the fresh index before the swap.
+ * Lookups it cannot answer (unknown room, or a range starting before the covered window)
+ * return empty and callers fall back to the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomOccupancyIndex implements MeterBinder {
+
+    private static final Duration MAX_BOOKING_DURATION = Duration.ofMinutes(Booking.TimeRange.MAX_DURATION_MINUTES);
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+
+    private final ReentrantLock loads = new ReentrantLock();
+    private final ReentrantLock changes = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private volatile ConcurrentMap<Long, RoomTimeline> timelines = new ConcurrentHashMap<>();
+    private volatile LocalDateTime coveredFrom;
+    // guarded by changes; one per load or room reload reading from the database
+    private final List<ChangeLog> changesWhileReading = new ArrayList<>();
+
+    public enum Occupancy { FREE, OCCUPIED, ROOM_DISABLED }
+
+    /**
+     * Loads rooms and every blocking booking that has not ended yet.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loads.lock();
+        var changeLog = startRecording();
+        try {
+            var now = LocalDateTime.now();
+            var fresh = new ConcurrentHashMap<Long, RoomTimeline>();
+            roomRepository.findAll().forEach(room -> {
+                var timeline = timeline(fresh, room.getRoomId());
+                timeline.enabled = room.isEnabled();
+                timeline.profile = new RoomProfile(
+                        room.getProfile().name(),
+                        room.getProfile().roomLocation().value(),
+                        room.getProfile().roomType()
+                );
+            });
+            var bookings = bookingRepository.findSnapshotsEndingAfter(Booking.blockingStatuses(), now);
+            bookings.forEach(booking -> occupy(fresh, booking));
+
+            changes.lock();
+            try {
+                changeLog.replayOnto(fresh);
+                timelines = fresh;
+                coveredFrom = now;
+            } finally {
+                changes.unlock();
+            }
+            log.info("Occupancy index loaded {} rooms and {} blocking bookings", fresh.size(), bookings.size());
+        } finally {
+            stopRecording(changeLog);
+            loads.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds one room from the database, for changes made by another instance.
+     * Changes applied locally while it reads are replayed onto the rebuilt room before it replaces the old one.
+     * Until the index is loaded there is nothing to rebuild.
+     */
+    public void reloadRoom(Long roomId) {
+        var from = coveredFrom;
+        if (from == null) {
+            return;
+        }
+
+        var changeLog = startRecording();
+        try {
+            var rebuilt = new ConcurrentHashMap<Long, RoomTimeline>();
+            roomRepository.findById(roomId).ifPresent(room -> {
+                var timeline = timeline(rebuilt, roomId);
+                timeline.enabled = room.isEnabled();
+                timeline.profile = new RoomProfile(
+                        room.getProfile().name(),
+                        room.getProfile().roomLocation().value(),
+                        room.getProfile().roomType()
+                );
+                bookingRepository.findRoomSnapshotsEndingAfter(roomId, Booking.blockingStatuses(), from)
+                        .forEach(booking -> occupy(rebuilt, booking));
+            });
+
+            changes.lock();
+            try {
+                changeLog.replayOnto(rebuilt);
+                var timeline = rebuilt.get(roomId);
+                apply(timeline == null ? index -> index.remove(roomId) : index -> index.put(roomId, timeline));
+            } finally {
+                changes.unlock();
+            }
+        } finally {
+            stopRecording(changeLog);
+        }
+    }
+
+    /**
+     * Answers whether the room is free for the given range, or empty when the index cannot tell.
+     */
+    public Optional<Occupancy> lookup(Long roomId, Booking.TimeRange timeRange) {
+        var from = coveredFrom;
+        var timeline = timelines.get(roomId);
+        if (from == null || timeline == null || timeline.enabled == null || timeRange.startTime().isBefore(from)) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        if (!timeline.enabled) {
+            return Optional.of(Occupancy.ROOM_DISABLED);
+        }
+        return Optional.of(timeline.overlaps(timeRange.startTime(), timeRange.endTime())
+                ? Occupancy.OCCUPIED
+                : Occupancy.FREE);
+    }
+
+    /**
+     * Enabled rooms of the given type, optionally within a location prefix, that are free for the whole range.
+     * Ordered by room id and capped at {@code limit}; empty when the index does not cover the range.
+     */
+    public Optional<List<AvailableRoomDTO>> findFreeRooms(String roomType, String locationPrefix, Booking.TimeRange timeRange, int limit) {
+        return findFreeRooms(profile -> profile.matches(roomType, locationPrefix), timeRange, limit);
+    }
+
+    /**
+     * Free enabled rooms of the same type in the same building as {@code roomId}, excluding that room.
+     * Buildings are compared as {@link Room.RoomLocation#buildingOf(String)} derives them.
+     */
+    public Optional<List<AvailableRoomDTO>> findFreeRoomsNearby(Long roomId, Booking.TimeRange timeRange, int limit) {
+        var timeline = timelines.get(roomId);
+        var profile = timeline == null ? null : timeline.profile;
+        if (profile == null) {
+            return Optional.empty();
+        }
+        var building = profile.building();
+        return findFreeRooms(other -> other.roomType().equalsIgnoreCase(profile.roomType()) && other.building().equals(building),
+                timeRange, limit + 1)
+                .map(rooms -> rooms.stream()
+                        .filter(room -> !room.roomId().equals(roomId))
+                        .limit(limit)
+                        .toList());
+    }
+
+    /**
+     * The room as known to the index, regardless of its bookings.
+     */
+    public Optional<AvailableRoomDTO> findRoom(Long roomId) {
+        var timeline = timelines.get(roomId);
+        var profile = timeline == null ? null : timeline.profile;
+        return profile == null ? Optional.empty() : Optional.of(profile.toAvailableRoom(roomId));
+    }
+
+    /**
+     * Blocking bookings of a room overlapping the window, ordered by start time,
+     * or empty when the index cannot tell.
+     */
+    public Optional<List<Booking.TimeRange>> blockingRanges(Long roomId, LocalDateTime from, LocalDateTime until) {
+        var covered = coveredFrom;
+        var timeline = timelines.get(roomId);
+        if (covered == null || timeline == null || from.isBefore(covered)) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(timeline.overlapping(from, until).stream()
+                .map(interval -> new Booking.TimeRange(interval.start(), interval.end()))
+                .toList());
+    }
+
+    /**
+     * Number of bookings currently held by the index.
+     */
+    public int size() {
+        return timelines.values().stream().mapToInt(RoomTimeline::size).sum();
+    }
+
+    /**
+     * Drops bookings that have ended; ranges before the cutoff are answered by the database from then on.
+     */
+    @Scheduled(fixedDelayString = "${reservation.occupancy-index.prune-delay-ms:3600000}")
+    public void prune() {
+        if (coveredFrom == null) {
+            return;
+        }
+        var cutoff = LocalDateTime.now();
+        coveredFrom = cutoff;
+        var pruned = timelines.values().stream().mapToInt(timeline -> timeline.prune(cutoff)).sum();
+        log.debug("Occupancy index pruned {} ended bookings", pruned);
+    }
+
+    @TransactionalEventListener
+    public void on(BookingEvent event) {
+        var interval = new Interval(event.bookingId(), event.startTime(), event.endTime());
+        if (Booking.blockingStatuses().contains(Booking.BookingStatus.valueOf(event.status()))) {
+            apply(index -> timeline(index, event.roomId()).add(interval));
+        } else {
+            apply(index -> {
+                var timeline = index.get(event.roomId());
+                if (timeline != null) {
+                    timeline.remove(interval.bookingId());
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener
+    public void on(RoomCatalogEvent.RoomAddedToCatalog e) {
+        var profile = new RoomProfile(e.name(), e.roomLocation(), e.type());
+        var enabled = "ENABLED".equalsIgnoreCase(e.operationalStatus());
+        apply(index -> {
+            var timeline = timeline(index, e.roomId());
+            timeline.profile = profile;
+            timeline.enabled = enabled;
+        });
+    }
+
+    @TransactionalEventListener
+    public void on(RoomCatalogEvent.RoomsImportedToCatalog e) {
+        e.rooms().forEach(this::on);
+    }
+
+    @TransactionalEventListener
+    public void on(RoomCatalogEvent.RoomOperationalStatusChanged e) {
+        var enabled = "ENABLED".equalsIgnoreCase(e.operationalStatus());
+        apply(index -> timeline(index, e.roomId()).enabled = enabled);
+    }
+
+    @TransactionalEventListener
+    public void on(RoomCatalogEvent.RoomRemovedFromCatalog e) {
+        apply(index -> index.remove(e.roomId()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reservation.occupancy.rooms", this, index -> index.timelines.size())
+                .description("Rooms held by the occupancy index")
+                .register(registry);
+        Gauge.builder("reservation.occupancy.bookings", this, RoomOccupancyIndex::size)
+                .description("Blocking bookings held by the occupancy index")
+                .register(registry);
+        FunctionCounter.builder("reservation.occupancy.lookups", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("reservation.occupancy.lookups", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    /**
+     * Applies a change to the current index and records it for every load or reload reading at the time.
+     */
+    private Optional<List<AvailableRoomDTO>> findFreeRooms(Predicate<RoomProfile> matching, Booking.TimeRange timeRange, int limit) {
+        var from = coveredFrom;
+        if (from == null || timeRange.startTime().isBefore(from)) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        var rooms = timelines.entrySet().stream()
+                .filter(entry -> Boolean.TRUE.equals(entry.getValue().enabled))
+                .filter(entry -> entry.getValue().profile != null && matching.test(entry.getValue().profile))
+                .sorted(Map.Entry.comparingByKey())
+                .filter(entry -> !entry.getValue().overlaps(timeRange.startTime(), timeRange.endTime()))
+                .limit(limit)
+                .map(entry -> entry.getValue().profile.toAvailableRoom(entry.getKey()))
+                .toList();
+        return Optional.of(rooms);
+    }
+
+    private void apply(Consumer<ConcurrentMap<Long, RoomTimeline>> change) {
+        changes.lock();
+        try {
+            change.accept(timelines);
+            changesWhileReading.forEach(changeLog -> changeLog.recorded.add(change));
+        } finally {
+            changes.unlock();
+        }
+    }
+
+    private ChangeLog startRecording() {
+        changes.lock();
+        try {
+            var changeLog = new ChangeLog();
+            changesWhileReading.add(changeLog);
+            return changeLog;
+        } finally {
+            changes.unlock();
+        }
+    }
+
+    private void stopRecording(ChangeLog changeLog) {
+        changes.lock();
+        try {
+            changesWhileReading.remove(changeLog);
+        } finally {
+            changes.unlock();
+        }
+    }
+
+    private static void occupy(ConcurrentMap<Long, RoomTimeline> index, BookingSnapshot booking) {
+        timeline(index, booking.roomId()).add(new Interval(booking.id(), booking.startTime(), booking.endTime()));
+    }
+
+    private static RoomTimeline timeline(ConcurrentMap<Long, RoomTimeline> index, Long roomId) {
+        return index.computeIfAbsent(roomId, id -> new RoomTimeline());
+    }
+
+    /**
+     * Changes applied while one load or reload reads from the database.
+     */
+    private static final class ChangeLog {
+
+        private final List<Consumer<ConcurrentMap<Long, RoomTimeline>>> recorded = new ArrayList<>();
+
+        void replayOnto(ConcurrentMap<Long, RoomTimeline> index) {
+            recorded.forEach(change -> change.accept(index));
+        }
+    }
+
+    private record Interval(long bookingId, LocalDateTime start, LocalDateTime end) {}
+
+    private record RoomProfile(String name, String location, String roomType) {
+
+        boolean matches(String type, String locationPrefix) {
+            return roomType.equalsIgnoreCase(type) && (locationPrefix == null || location.startsWith(locationPrefix));
+        }
+
+        String building() {
+            return Room.RoomLocation.buildingOf(location);
+        }
+
+        AvailableRoomDTO toAvailableRoom(Long roomId) {
+            return new AvailableRoomDTO(roomId, name, location, roomType);
+        }
+    }
+
+    /**
+     * Blocking bookings of one room, ordered by start time.
+     * Bookings last at most {@link Booking.TimeRange#MAX_DURATION_MINUTES}, so an overlap check
+     * only has to look at intervals starting within that distance before the requested range.
+     */
+    private static final class RoomTimeline {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final NavigableSet<Interval> intervals = new TreeSet<>(
+                Comparator.comparing(Interval::start).thenComparingLong(Interval::bookingId)
+        );
+        private final Map<Long, Interval> byBookingId = new HashMap<>();
+
+        // null until the room's operational status is known
+        private volatile Boolean enabled;
+        private volatile RoomProfile profile;
+
+        void add(Interval interval) {
+            lock.writeLock().lock();
+            try {
+                var previous = byBookingId.put(interval.bookingId(), interval);
+                if (previous != null) {
+                    intervals.remove(previous);
+                }
+                intervals.add(interval);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long bookingId) {
+            lock.writeLock().lock();
+            try {
+                var previous = byBookingId.remove(bookingId);
+                if (previous != null) {
+                    intervals.remove(previous);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            lock.readLock().lock();
+            try {
+                return candidates(start, end).stream().anyMatch(interval -> interval.end().isAfter(start));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<Interval> overlapping(LocalDateTime start, LocalDateTime end) {
+            lock.readLock().lock();
+            try {
+                return candidates(start, end).stream().filter(interval -> interval.end().isAfter(start)).toList();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private NavigableSet<Interval> candidates(LocalDateTime start, LocalDateTime end) {
+            return intervals.subSet(
+                    new Interval(Long.MIN_VALUE, start.minus(MAX_BOOKING_DURATION), null), true,
+                    new Interval(Long.MIN_VALUE, end, null), false
+            );
+        }
+
+        int prune(LocalDateTime cutoff) {
+            lock.writeLock().lock();
+            try {
+                var ended = intervals.headSet(new Interval(Long.MIN_VALUE, cutoff, null), false)
+                        .stream()
+                        .filter(interval -> !interval.end().isAfter(cutoff))
+                        .toList();
+                ended.forEach(interval -> {
+                    intervals.remove(interval);
+                    byBookingId.remove(interval.bookingId());
+                });
+                return ended.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return intervals.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
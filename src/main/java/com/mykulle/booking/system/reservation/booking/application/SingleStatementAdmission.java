@@ -0,0 +1,82 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingOverlapConstraint;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Admission in one database round-trip: room check, conflict check and insert run as a single
+ * conditional CTE statement. Concurrent inserts that both pass the conflict check are rejected
+ * by {@link BookingOverlapConstraint}, which this mode installs. Requires Postgres.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reservation.booking", name = "admission-mode", havingValue = "single-statement")
+@RequiredArgsConstructor
+public class SingleStatementAdmission implements BookingAdmission, InitializingBean {
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final BookingOverlapConstraint overlapConstraint;
+
+    @Override
+    public void afterPropertiesSet() {
+        overlapConstraint.ensureInstalled();
+    }
+
+    @Override
+    public BookingDTO admit(Long roomId, String ownerUserId, Booking.TimeRange timeRange) {
+        try {
+            var outcome = bookingRepository.insertIfAvailable(roomId, ownerUserId, timeRange);
+            return switch (outcome.result()) {
+                case CREATED -> new BookingDTO(
+                        outcome.bookingId(),
+                        roomId,
+                        timeRange.startTime(),
+                        timeRange.endTime(),
+                        Booking.BookingStatus.CONFIRMED.name()
+                );
+                case ROOM_NOT_FOUND -> throw new IllegalArgumentException("Room not found with id: " + roomId);
+                case ROOM_DISABLED -> throw new IllegalStateException("Cannot create booking for a disabled room");
+                case CONFLICT -> throw new BookingConflictException();
+            };
+        } catch (DataIntegrityViolationException ex) {
+            if (BookingOverlapConstraint.isViolatedBy(ex)) {
+                throw new BookingConflictException();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * A series is one room lookup, one set-based overlap query and one batched insert,
+     * with the overlap constraint catching concurrent bookings in between.
+     */
+    @Override
+    public List<BookingDTO> admitSeries(Long roomId, String ownerUserId, List<Booking.TimeRange> occurrences, UUID seriesId) {
+        var room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("Room not found with id: " + roomId));
+
+        if (room.isDisabled()) {
+            throw new IllegalStateException("Cannot create booking for a disabled room");
+        }
+
+        BookingSeries.rejectConflicts(bookingRepository, roomId, occurrences);
+        try {
+            return BookingSeries.insert(bookingRepository, roomId, ownerUserId, occurrences, seriesId);
+        } catch (DataIntegrityViolationException ex) {
+            if (BookingOverlapConstraint.isViolatedBy(ex)) {
+                throw new BookingConflictException();
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot;
+import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Admission through single-writer queues, one per room shard ({@code roomId mod shards}).
+ * Each shard's writer drains up to {@code max-batch-size} pending requests and admits them as one group:
+ * one transaction locks each room of the group once, loads its blocking bookings in the requested window,
+ * decides every request in arrival order against them and against the requests accepted before it,
+ * and inserts all accepted bookings as one batch. Requests for a hot room therefore share one lock,
+ * one read and one insert, and are served first come, first served.
+ * <p>
+ * Unlike the other modes, accepted bookings are committed, and their {@code BookingCreated} events published,
+ * by the writer before {@code admit} returns, not in the caller's transaction; callers wait without holding a connection.
+ * A full queue sheds the request with {@link BookingOverloadedException}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "reservation.booking", name = "admission-mode", havingValue = "single-writer")
+public class SingleWriterAdmission implements BookingAdmission, MeterBinder, DisposableBean {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate transactions;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final List<BlockingQueue<AdmissionRequest>> shards = new ArrayList<>();
+    private final List<Thread> writers = new ArrayList<>();
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public SingleWriterAdmission(
+            BookingRepository bookingRepository,
+            RoomRepository roomRepository,
+            ApplicationEventPublisher events,
+            PlatformTransactionManager transactionManager,
+            @Value("${reservation.booking.single-writer.shards:16}") int shardCount,
+            @Value("${reservation.booking.single-writer.queue-capacity:1000}") int queueCapacity,
+            @Value("${reservation.booking.single-writer.max-batch-size:200}") int maxBatchSize,
+            @Value("${reservation.booking.single-writer.timeout-ms:10000}") long timeoutMillis
+    ) {
+        if (shardCount < 1 || queueCapacity < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("reservation.booking.single-writer shards, queue-capacity and max-batch-size must be positive");
+        }
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+        this.events = events;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.transactions.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxBatchSize = maxBatchSize;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        for (int shard = 0; shard < shardCount; shard++) {
+            shards.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!writers.isEmpty()) {
+            return;
+        }
+        for (int shard = 0; shard < shards.size(); shard++) {
+            var queue = shards.get(shard);
+            var writer = Thread.ofPlatform()
+                    .name("booking-writer-" + shard)
+                    .daemon()
+                    .start(() -> drain(queue));
+            writers.add(writer);
+        }
+        log.info("Single-writer admission started {} writers", writers.size());
+    }
+
+    @Override
+    public synchronized void destroy() {
+        writers.forEach(Thread::interrupt);
+        writers.clear();
+        var shutdown = new BookingOverloadedException("Booking admission is shutting down, please retry", RETRY_AFTER);
+        shards.forEach(queue -> {
+            var pending = new ArrayList<AdmissionRequest>();
+            queue.drainTo(pending);
+            pending.stream()
+                    .filter(AdmissionRequest::abandon)
+                    .forEach(request -> request.result().completeExceptionally(shutdown));
+        });
+    }
+
+    @Override
+    public boolean joinsCallerTransaction() {
+        return false;
+    }
+
+    @Override
+    public BookingDTO admit(Long roomId, String ownerUserId, Booking.TimeRange timeRange) {
+        return submit(new AdmissionRequest(roomId, ownerUserId, List.of(timeRange), null)).getFirst();
+    }
+
+    @Override
+    public List<BookingDTO> admitSeries(Long roomId, String ownerUserId, List<Booking.TimeRange> occurrences, UUID seriesId) {
+        return submit(new AdmissionRequest(roomId, ownerUserId, List.copyOf(occurrences), seriesId));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reservation.admission.single-writer.pending", shards, queues -> queues.stream().mapToInt(BlockingQueue::size).sum())
+                .description("Booking requests waiting for their room's writer")
+                .register(registry);
+        FunctionCounter.builder("reservation.admission.single-writer.batches", batches, LongAdder::sum)
+                .description("Groups of booking requests admitted in one transaction")
+                .register(registry);
+        FunctionCounter.builder("reservation.admission.single-writer.requests", admitted, LongAdder::sum)
+                .tag("result", "admitted")
+                .register(registry);
+        FunctionCounter.builder("reservation.admission.single-writer.requests", rejected, LongAdder::sum)
+                .tag("result", "rejected")
+                .register(registry);
+    }
+
+    private List<BookingDTO> submit(AdmissionRequest request) {
+        var queue = shards.get((int) Math.floorMod(request.roomId(), (long) shards.size()));
+        if (!queue.offer(request)) {
+            throw new BookingOverloadedException("Too many booking requests for this room, try again shortly", RETRY_AFTER);
+        }
+        try {
+            return request.await(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BookingOverloadedException("Booking admission was interrupted, please retry", RETRY_AFTER);
+        }
+    }
+
+    /**
+     * Writer loop of one shard. Nothing but an interrupt ends it: whatever a batch throws fails that batch,
+     * and the writer goes on with the next one, so the shard's callers are not left waiting out their timeout.
+     */
+    private void drain(BlockingQueue<AdmissionRequest> queue) {
+        while (!Thread.currentThread().isInterrupted()) {
+            var batch = new ArrayList<AdmissionRequest>();
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable e) {
+                log.error("Booking writer failed on a batch of {} requests", batch.size(), e);
+                batch.forEach(request -> request.result().completeExceptionally(e));
+            }
+        }
+    }
+
+    /**
+     * Admits one group of requests in arrival order and completes each request's result.
+     * Requests whose caller already gave up are skipped; the others are claimed before the transaction starts,
+     * so their callers wait for its outcome instead of timing out.
+     */
+    void process(List<AdmissionRequest> batch) {
+        var pending = batch.stream().filter(AdmissionRequest::claim).toList();
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        var accepted = new ArrayList<Accepted>();
+        try {
+            transactions.executeWithoutResult(status -> {
+                accepted.addAll(admitGroup(pending));
+                accepted.forEach(entry -> entry.bookings().forEach(booking -> events.publishEvent(BookingEvent.created(booking))));
+            });
+        } catch (Throwable e) {
+            pending.forEach(request -> request.result().completeExceptionally(e));
+            if (e instanceof Error error) {
+                throw error;
+            }
+            return;
+        }
+
+        batches.increment();
+        accepted.forEach(entry -> entry.request().result().complete(entry.bookings().stream()
+                .map(booking -> new BookingDTO(
+                        booking.getId(),
+                        booking.getRoomId(),
+                        booking.getTimeRange().startTime(),
+                        booking.getTimeRange().endTime(),
+                        booking.getStatus().name()
+                ))
+                .toList()));
+        admitted.add(accepted.size());
+    }
+
+    private List<Accepted> admitGroup(List<AdmissionRequest> requests) {
+        var byRoom = new HashMap<Long, List<AdmissionRequest>>();
+        requests.forEach(request -> byRoom.computeIfAbsent(request.roomId(), id -> new ArrayList<>()).add(request));
+
+        // Ascending room order keeps writers of different shards from deadlocking on the room locks.
+        var occupied = new HashMap<Long, List<Booking.TimeRange>>();
+        for (var roomId : new TreeSet<>(byRoom.keySet())) {
+            var roomRequests = byRoom.get(roomId);
+            var room = roomRepository.findByIdForUpdate(roomId);
+            if (room.isEmpty()) {
+                reject(roomRequests, new IllegalArgumentException("Room not found with id: " + roomId));
+                continue;
+            }
+            if (room.get().isDisabled()) {
+                reject(roomRequests, new IllegalStateException("Cannot create booking for a disabled room"));
+                continue;
+            }
+            occupied.put(roomId, loadOccupied(roomId, roomRequests));
+        }
+
+        var accepted = new ArrayList<Accepted>();
+        for (var request : requests) {
+            var ranges = occupied.get(request.roomId());
+            if (ranges == null) {
+                continue;
+            }
+            var conflicting = request.occurrences().stream()
+                    .filter(occurrence -> ranges.stream().anyMatch(occurrence::overlaps))
+                    .map(Booking.TimeRange::startTime)
+                    .toList();
+            if (!conflicting.isEmpty()) {
+                reject(List.of(request), request.seriesId() == null
+                        ? new BookingConflictException()
+                        : BookingConflictException.forOccurrences(conflicting));
+                continue;
+            }
+            ranges.addAll(request.occurrences());
+            accepted.add(new Accepted(request, request.occurrences().stream()
+                    .map(occurrence -> new Booking(request.roomId(), request.ownerUserId(), occurrence, request.seriesId()))
+                    .toList()));
+        }
+
+        // Pooled sequence ids let Hibernate send all accepted bookings as one JDBC batch.
+        bookingRepository.saveAll(accepted.stream().flatMap(entry -> entry.bookings().stream()).toList());
+        return accepted;
+    }
+
+    private List<Booking.TimeRange> loadOccupied(Long roomId, List<AdmissionRequest> requests) {
+        var occurrences = requests.stream().flatMap(request -> request.occurrences().stream()).toList();
+        var from = occurrences.stream().map(Booking.TimeRange::startTime).min(Comparator.naturalOrder()).orElseThrow();
+        var until = occurrences.stream().map(Booking.TimeRange::endTime).max(Comparator.naturalOrder()).orElseThrow();
+        return new ArrayList<>(bookingRepository.findRoomSnapshotsBetween(roomId, Booking.blockingStatuses(), from, until).stream()
+                .map(SingleWriterAdmission::toTimeRange)
+                .toList());
+    }
+
+    private void reject(List<AdmissionRequest> requests, RuntimeException reason) {
+        requests.forEach(request -> request.result().completeExceptionally(reason));
+        rejected.add(requests.size());
+    }
+
+    private static Booking.TimeRange toTimeRange(BookingSnapshot booking) {
+        return new Booking.TimeRange(booking.startTime(), booking.endTime());
+    }
+
+    /**
+     * One caller's request. It is either claimed by its writer or abandoned by its caller, never both:
+     * a claimed request is always decided, an abandoned one is never admitted.
+     */
+    static final class AdmissionRequest {
+
+        private enum State { PENDING, CLAIMED, ABANDONED }
+
+        private final Long roomId;
+        private final String ownerUserId;
+        private final List<Booking.TimeRange> occurrences;
+        private final UUID seriesId;
+        private final CompletableFuture<List<BookingDTO>> result = new CompletableFuture<>();
+        private final AtomicReference<State> state = new AtomicReference<>(State.PENDING);
+
+        AdmissionRequest(Long roomId, String ownerUserId, List<Booking.TimeRange> occurrences, UUID seriesId) {
+            this.roomId = roomId;
+            this.ownerUserId = ownerUserId;
+            this.occurrences = occurrences;
+            this.seriesId = seriesId;
+        }
+
+        Long roomId() {
+            return roomId;
+        }
+
+        String ownerUserId() {
+            return ownerUserId;
+        }
+
+        List<Booking.TimeRange> occurrences() {
+            return occurrences;
+        }
+
+        UUID seriesId() {
+            return seriesId;
+        }
+
+        CompletableFuture<List<BookingDTO>> result() {
+            return result;
+        }
+
+        boolean claim() {
+            return state.compareAndSet(State.PENDING, State.CLAIMED);
+        }
+
+        boolean abandon() {
+            return state.compareAndSet(State.PENDING, State.ABANDONED);
+        }
+
+        /**
+         * Waits up to {@code timeout} for a writer to pick the request up.
+         * Once a writer has claimed it, waits for the writer's transaction however long it takes,
+         * so a booking is never committed after its caller was told the admission timed out.
+         */
+        List<BookingDTO> await(Duration timeout) throws InterruptedException {
+            try {
+                return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (abandon()) {
+                    throw new BookingOverloadedException("Booking admission timed out, please retry", RETRY_AFTER);
+                }
+                return unwrap(result::join);
+            } catch (ExecutionException e) {
+                throw rethrow(e.getCause());
+            } catch (InterruptedException e) {
+                if (abandon()) {
+                    throw e;
+                }
+                Thread.currentThread().interrupt();
+                return unwrap(result::join);
+            }
+        }
+
+        private static List<BookingDTO> unwrap(Supplier<List<BookingDTO>> outcome) {
+            try {
+                return outcome.get();
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+
+        private static RuntimeException rethrow(Throwable cause) {
+            if (cause instanceof RuntimeException runtime) {
+                return runtime;
+            }
+            return new CompletionException(cause);
+        }
+    }
+
+    private record Accepted(AdmissionRequest request, List<Booking> bookings) {}
+}
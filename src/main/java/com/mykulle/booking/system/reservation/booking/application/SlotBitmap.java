@@ -0,0 +1,129 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Slot occupancy per room and day, one bit per 30-minute slot.
+ * Bookings are aligned to 30-minute slots, so a day has {@value #SLOTS_PER_DAY} slots and fits in one {@code long}.
+ * Reservations are claimed with compare-and-set and never block.
+ */
+public class SlotBitmap {
+
+    public static final int SLOT_MINUTES = 30;
+    public static final int SLOTS_PER_DAY = 48;
+
+    private final ConcurrentMap<RoomDay, AtomicLong> days = new ConcurrentHashMap<>();
+
+    /**
+     * Claims every slot of the range, or none of them when any slot is already taken.
+     */
+    public boolean tryReserve(Long roomId, LocalDateTime start, LocalDateTime end) {
+        var claimed = new ArrayList<Map.Entry<LocalDate, Long>>();
+        for (var day : masksByDay(start, end).entrySet()) {
+            if (!claim(slotsOf(roomId, day.getKey()), day.getValue())) {
+                claimed.forEach(previous -> clear(slotsOf(roomId, previous.getKey()), previous.getValue()));
+                return false;
+            }
+            claimed.add(day);
+        }
+        return true;
+    }
+
+    /**
+     * Marks the range as taken regardless of current state; used when loading persisted bookings.
+     */
+    public void occupy(Long roomId, LocalDateTime start, LocalDateTime end) {
+        masksByDay(start, end).forEach((day, mask) -> slotsOf(roomId, day).getAndUpdate(current -> current | mask));
+    }
+
+    public void release(Long roomId, LocalDateTime start, LocalDateTime end) {
+        masksByDay(start, end).forEach((day, mask) -> {
+            var slots = days.get(new RoomDay(roomId, day));
+            if (slots != null) {
+                clear(slots, mask);
+            }
+        });
+    }
+
+    public long occupied(Long roomId, LocalDate day) {
+        var slots = days.get(new RoomDay(roomId, day));
+        return slots == null ? 0L : slots.get();
+    }
+
+    public void evictBefore(LocalDate day) {
+        days.keySet().removeIf(roomDay -> roomDay.day().isBefore(day));
+    }
+
+    public void clear() {
+        days.clear();
+    }
+
+    public int size() {
+        return days.size();
+    }
+
+    /**
+     * Splits a range into per-day slot masks. Slots partially covered by the range are included.
+     */
+    public static Map<LocalDate, Long> masksByDay(LocalDateTime start, LocalDateTime end) {
+        var masks = new LinkedHashMap<LocalDate, Long>();
+        var day = start.toLocalDate();
+        while (day.atStartOfDay().isBefore(end)) {
+            var dayStart = day.atStartOfDay();
+            var dayEnd = day.plusDays(1).atStartOfDay();
+            var from = start.isAfter(dayStart) ? slotIndex(start.toLocalTime()) : 0;
+            var to = end.isBefore(dayEnd) ? slotIndexCeiling(end.toLocalTime()) : SLOTS_PER_DAY;
+            if (to > from) {
+                masks.put(day, mask(from, to));
+            }
+            day = day.plusDays(1);
+        }
+        return masks;
+    }
+
+    /**
+     * Bits {@code from} (inclusive) to {@code to} (exclusive) set.
+     */
+    public static long mask(int from, int to) {
+        return ((1L << (to - from)) - 1) << from;
+    }
+
+    public static int slotIndex(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    private static int slotIndexCeiling(LocalTime time) {
+        var minutes = time.getHour() * 60 + time.getMinute() + (time.getSecond() > 0 || time.getNano() > 0 ? 1 : 0);
+        return (minutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+    }
+
+    private AtomicLong slotsOf(Long roomId, LocalDate day) {
+        return days.computeIfAbsent(new RoomDay(roomId, day), key -> new AtomicLong());
+    }
+
+    private static boolean claim(AtomicLong slots, long mask) {
+        while (true) {
+            var current = slots.get();
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (slots.compareAndSet(current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    private static void clear(AtomicLong slots, long mask) {
+        slots.getAndUpdate(current -> current & ~mask);
+    }
+
+    private record RoomDay(Long roomId, LocalDate day) {}
+}
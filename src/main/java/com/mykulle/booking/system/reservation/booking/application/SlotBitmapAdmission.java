@@ -0,0 +1,170 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free admission backed by a per-room, per-day {@link SlotBitmap}.
+ * Slots are claimed with compare-and-set before the insert, so conflicting requests fail fast
+ * and non-conflicting requests for the same room proceed in parallel without a room lock.
+ * Claims are released again when the inserting transaction does not commit.
+ * <p>
+ * The database stays the source of truth: the bitmap is rebuilt from blocking bookings on startup;
+ * until then bookings are shed with {@link BookingOverloadedException}.
+ * The bitmap is local to one instance, so this mode is only safe when a single instance admits bookings.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "reservation.booking", name = "admission-mode", havingValue = "slot-bitmap")
+@RequiredArgsConstructor
+public class SlotBitmapAdmission implements BookingAdmission, MeterBinder {
+
+    private static final Duration STARTUP_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final BookingMapper mapper;
+
+    private final SlotBitmap slots = new SlotBitmap();
+    private final LongAdder rejected = new LongAdder();
+    private final Set<Long> releasedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+    private volatile boolean ready;
+
+    /**
+     * Reconciles the bitmap with the blocking bookings stored in the database.
+     * Bookings released while the snapshot is read are skipped, so a stale snapshot does not occupy them again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        var from = LocalDate.now().atStartOfDay();
+        loading = true;
+        try {
+            var bookings = bookingRepository.findSnapshotsEndingAfter(Booking.blockingStatuses(), from);
+            bookings.stream()
+                    .filter(booking -> !releasedWhileLoading.contains(booking.id()))
+                    .forEach(booking -> slots.occupy(booking.roomId(), booking.startTime(), booking.endTime()));
+            ready = true;
+            log.info("Slot bitmap admission loaded {} blocking bookings", bookings.size());
+        } finally {
+            loading = false;
+            releasedWhileLoading.clear();
+        }
+    }
+
+    @Override
+    public BookingDTO admit(Long roomId, String ownerUserId, Booking.TimeRange timeRange) {
+        requireReady();
+
+        var room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("Room not found with id: " + roomId));
+
+        if (room.isDisabled()) {
+            throw new IllegalStateException("Cannot create booking for a disabled room");
+        }
+
+        if (!slots.tryReserve(roomId, timeRange.startTime(), timeRange.endTime())) {
+            rejected.increment();
+            throw new BookingConflictException();
+        }
+
+        releaseUnlessCommitted(roomId, timeRange);
+        return mapper.toDTO(bookingRepository.save(new Booking(roomId, ownerUserId, timeRange)));
+    }
+
+    /**
+     * Claims the slots of every occurrence before the batched insert; on a conflict the claims
+     * made so far are given back and the conflicting occurrence is reported.
+     */
+    @Override
+    public List<BookingDTO> admitSeries(Long roomId, String ownerUserId, List<Booking.TimeRange> occurrences, UUID seriesId) {
+        requireReady();
+
+        var room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("Room not found with id: " + roomId));
+
+        if (room.isDisabled()) {
+            throw new IllegalStateException("Cannot create booking for a disabled room");
+        }
+
+        var claimed = new ArrayList<Booking.TimeRange>();
+        for (var occurrence : occurrences) {
+            if (!slots.tryReserve(roomId, occurrence.startTime(), occurrence.endTime())) {
+                claimed.forEach(previous -> slots.release(roomId, previous.startTime(), previous.endTime()));
+                rejected.increment();
+                throw BookingConflictException.forOccurrences(List.of(occurrence.startTime()));
+            }
+            claimed.add(occurrence);
+        }
+
+        claimed.forEach(occurrence -> releaseUnlessCommitted(roomId, occurrence));
+        return BookingSeries.insert(bookingRepository, roomId, ownerUserId, occurrences, seriesId);
+    }
+
+    @TransactionalEventListener
+    public void on(BookingEvent.BookingStatusChanged event) {
+        if (!Booking.blockingStatuses().contains(Booking.BookingStatus.valueOf(event.status()))) {
+            if (loading) {
+                releasedWhileLoading.add(event.bookingId());
+            }
+            slots.release(event.roomId(), event.startTime(), event.endTime());
+        }
+    }
+
+    @Scheduled(cron = "${reservation.booking.slot-bitmap.evict-cron:0 5 0 * * *}")
+    public void evictPastDays() {
+        slots.evictBefore(LocalDate.now());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reservation.admission.slot-bitmap.room-days", slots, SlotBitmap::size)
+                .description("Room-days tracked by the slot bitmap")
+                .register(registry);
+        FunctionCounter.builder("reservation.admission.slot-bitmap.rejected", rejected, LongAdder::sum)
+                .description("Bookings rejected by the slot bitmap without touching the database")
+                .register(registry);
+    }
+
+    private void requireReady() {
+        if (!ready) {
+            throw new BookingOverloadedException("Booking admission is still starting up, please retry", STARTUP_RETRY_AFTER);
+        }
+    }
+
+    private void releaseUnlessCommitted(Long roomId, Booking.TimeRange timeRange) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    slots.release(roomId, timeRange.startTime(), timeRange.endTime());
+                }
+            }
+        });
+    }
+}
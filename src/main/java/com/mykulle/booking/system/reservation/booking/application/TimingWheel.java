@@ -0,0 +1,134 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hierarchical timing wheel with {@value #LEVELS} levels of {@value #WHEEL_SIZE} slots.
+ * Level 0 slots are one tick wide, each higher level is {@value #WHEEL_SIZE} times coarser;
+ * entries in a higher level cascade down when their slot comes up, so scheduling and expiry are O(1)
+ * regardless of how many entries are pending. Deadlines beyond the top level wait in an overflow queue.
+ * <p>
+ * Entries never fire early: deadlines are rounded up to the next tick.
+ */
+public class TimingWheel<T> {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<List<List<Entry<T>>>> levels = new ArrayList<>(LEVELS);
+    private final PriorityQueue<Entry<T>> overflow = new PriorityQueue<>(Comparator.comparingLong(Entry::deadlineTick));
+    private final List<Entry<T>> expired = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(Duration tick, long startMillis) {
+        if (tick.toMillis() < 1) {
+            throw new IllegalArgumentException("tick must be at least one millisecond");
+        }
+        this.tickMillis = tick.toMillis();
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+        for (var level = 0; level < LEVELS; level++) {
+            var slots = new ArrayList<List<Entry<T>>>(WHEEL_SIZE);
+            for (var slot = 0; slot < WHEEL_SIZE; slot++) {
+                slots.add(new ArrayList<>());
+            }
+            levels.add(slots);
+        }
+    }
+
+    /**
+     * Schedules an item; a deadline that has already passed fires on the next {@link #advance(long)}.
+     */
+    public void schedule(T item, long deadlineMillis) {
+        lock.lock();
+        try {
+            place(new Entry<>(item, Math.ceilDiv(deadlineMillis, tickMillis)));
+            size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the wheel to {@code nowMillis} and returns every item that became due, earliest deadline first.
+     */
+    public List<T> advance(long nowMillis) {
+        lock.lock();
+        try {
+            var target = Math.floorDiv(nowMillis, tickMillis);
+            while (currentTick < target) {
+                currentTick++;
+                admitOverflow();
+                for (var level = LEVELS - 1; level >= 1; level--) {
+                    if ((currentTick & ((1L << (level * WHEEL_BITS)) - 1)) == 0) {
+                        var bucket = bucket(level, currentTick);
+                        var cascading = new ArrayList<>(bucket);
+                        bucket.clear();
+                        cascading.forEach(this::place);
+                    }
+                }
+                var bucket = bucket(0, currentTick);
+                expired.addAll(bucket);
+                bucket.clear();
+            }
+
+            var due = expired.stream()
+                    .sorted(Comparator.comparingLong(Entry::deadlineTick))
+                    .map(Entry::item)
+                    .toList();
+            size -= expired.size();
+            expired.clear();
+            return due;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        var deadline = entry.deadlineTick();
+        if (deadline <= currentTick) {
+            expired.add(entry);
+            return;
+        }
+        for (var level = 0; level < LEVELS; level++) {
+            var shift = level * WHEEL_BITS;
+            if ((deadline >> shift) - (currentTick >> shift) < WHEEL_SIZE) {
+                bucket(level, deadline).add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private void admitOverflow() {
+        var shift = (LEVELS - 1) * WHEEL_BITS;
+        while (!overflow.isEmpty() && (overflow.peek().deadlineTick() >> shift) - (currentTick >> shift) < WHEEL_SIZE) {
+            place(overflow.poll());
+        }
+    }
+
+    private List<Entry<T>> bucket(int level, long tick) {
+        return levels.get(level).get((int) ((tick >> (level * WHEEL_BITS)) & WHEEL_MASK));
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {}
+}
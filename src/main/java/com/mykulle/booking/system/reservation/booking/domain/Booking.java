@@ -3,6 +3,8 @@ package com.mykulle.booking.system.reservation.booking.domain;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CurrentTimestamp;
+import org.hibernate.generator.SourceType;
 import org.jmolecules.ddd.annotation.AggregateRoot;
 import org.jmolecules.ddd.annotation.Identity;
 import org.jmolecules.ddd.annotation.ValueObject;
@@ -10,17 +12,22 @@ import org.jmolecules.ddd.annotation.ValueObject;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.EnumSet;
+import java.util.UUID;
 
 @AggregateRoot
 @Entity
 @Getter
 @NoArgsConstructor
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_series", columnList = "series_id"),
+        @Index(name = "idx_bookings_changes", columnList = "last_modified_at, id")
+})
 public class Booking {
 
     @Identity
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -39,7 +46,21 @@ public class Booking {
     @Version
     private Long version;
 
+    // Set for occurrences of a recurring series, null for single bookings
+    @Column(name = "series_id")
+    private UUID seriesId;
+
+    // Set from the database clock on every insert and update, also by bulk statements;
+    // orders the change feed together with the id
+    @CurrentTimestamp(source = SourceType.DB)
+    @Column(name = "last_modified_at")
+    private LocalDateTime lastModifiedAt;
+
     public Booking(Long roomId, String bookedByUserId, TimeRange timeRange) {
+        this(roomId, bookedByUserId, timeRange, null);
+    }
+
+    public Booking(Long roomId, String bookedByUserId, TimeRange timeRange, UUID seriesId) {
         if (roomId == null) throw new IllegalArgumentException("roomId is required");
         if (bookedByUserId == null || bookedByUserId.isBlank()) {
             throw new IllegalArgumentException("bookedByUserId is required");
@@ -48,6 +69,7 @@ public class Booking {
         this.roomId = roomId;
         this.bookedByUserId = bookedByUserId;
         this.timeRange = timeRange;
+        this.seriesId = seriesId;
         this.status = BookingStatus.CONFIRMED;
     }
 
@@ -105,8 +127,8 @@ public class Booking {
             @Column(name = "start_time", nullable = false) LocalDateTime startTime,
             @Column(name = "end_time", nullable = false) LocalDateTime endTime
     ) {
-        private static final long MIN_DURATION_MINUTES = 30L;
-        private static final long MAX_DURATION_MINUTES = 120L;
+        public static final long MIN_DURATION_MINUTES = 30L;
+        public static final long MAX_DURATION_MINUTES = 120L;
 
         public TimeRange {
             if (startTime == null || endTime == null) {
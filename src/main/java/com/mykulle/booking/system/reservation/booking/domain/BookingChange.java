@@ -0,0 +1,19 @@
+package com.mykulle.booking.system.reservation.booking.domain;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a booking row as of its last change, for the change feed.
+ */
+public record BookingChange(
+        Long id,
+        Long roomId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        BookingStatus status,
+        Long version,
+        LocalDateTime lastModifiedAt
+) {
+}
@@ -0,0 +1,42 @@
+package com.mykulle.booking.system.reservation.booking.domain;
+
+import org.jmolecules.event.annotation.DomainEvent;
+
+import java.time.LocalDateTime;
+
+@DomainEvent
+public interface BookingEvent {
+
+    Long bookingId();
+
+    Long roomId();
+
+    LocalDateTime startTime();
+
+    LocalDateTime endTime();
+
+    String status();
+
+    record BookingCreated(Long bookingId, Long roomId, LocalDateTime startTime, LocalDateTime endTime, String status) implements BookingEvent {}
+    record BookingStatusChanged(Long bookingId, Long roomId, LocalDateTime startTime, LocalDateTime endTime, String status) implements BookingEvent {}
+
+    static BookingCreated created(Booking booking) {
+        return new BookingCreated(
+                booking.getId(),
+                booking.getRoomId(),
+                booking.getTimeRange().startTime(),
+                booking.getTimeRange().endTime(),
+                booking.getStatus().name()
+        );
+    }
+
+    static BookingStatusChanged statusChanged(Booking booking) {
+        return new BookingStatusChanged(
+                booking.getId(),
+                booking.getRoomId(),
+                booking.getTimeRange().startTime(),
+                booking.getTimeRange().endTime(),
+                booking.getStatus().name()
+        );
+    }
+}
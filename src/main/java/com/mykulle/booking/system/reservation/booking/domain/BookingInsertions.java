@@ -0,0 +1,18 @@
+package com.mykulle.booking.system.reservation.booking.domain;
+
+/**
+ * Repository fragment for inserting bookings with plain SQL.
+ */
+public interface BookingInsertions {
+
+    /**
+     * Checks the room state and conflicting blocking bookings and inserts a confirmed booking
+     * in one statement, so admission costs a single round-trip.
+     */
+    InsertOutcome insertIfAvailable(Long roomId, String bookedByUserId, Booking.TimeRange timeRange);
+
+    record InsertOutcome(Result result, Long bookingId) {
+
+        public enum Result { CREATED, ROOM_NOT_FOUND, ROOM_DISABLED, CONFLICT }
+    }
+}
@@ -0,0 +1,64 @@
+package com.mykulle.booking.system.reservation.booking.domain;
+
+import com.mykulle.booking.system.reservation.booking.domain.BookingInsertions.InsertOutcome.Result;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+class BookingInsertionsImpl implements BookingInsertions {
+
+    private static final String INSERT_IF_AVAILABLE = """
+            with room as (
+                select r.operational_status
+                from reservation_room r
+                where r.room_id = :roomId
+            ), conflict as (
+                select 1
+                from bookings b
+                where b.room_id = :roomId
+                  and b.status in (%s)
+                  and b.start_time < :endTime
+                  and b.end_time > :startTime
+                limit 1
+            ), inserted as (
+                insert into bookings (id, room_id, booked_by_user_id, start_time, end_time, status, version, last_modified_at)
+                select nextval('bookings_seq'), :roomId, :bookedByUserId, :startTime, :endTime, 'CONFIRMED', 0, localtimestamp
+                where exists (select 1 from room where upper(operational_status) = 'ENABLED')
+                  and not exists (select 1 from conflict)
+                returning id
+            )
+            select (select operational_status from room) as room_status,
+                   exists (select 1 from conflict) as conflicting,
+                   (select id from inserted) as booking_id
+            """.formatted(Booking.blockingStatuses().stream()
+            .map(status -> "'" + status.name() + "'")
+            .collect(Collectors.joining(", ")));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public InsertOutcome insertIfAvailable(Long roomId, String bookedByUserId, Booking.TimeRange timeRange) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("roomId", roomId)
+                .addValue("bookedByUserId", bookedByUserId)
+                .addValue("startTime", timeRange.startTime())
+                .addValue("endTime", timeRange.endTime());
+
+        return jdbcTemplate.queryForObject(INSERT_IF_AVAILABLE, parameters, (rs, rowNum) -> {
+            var bookingId = rs.getObject("booking_id", Long.class);
+            if (bookingId != null) {
+                return new InsertOutcome(Result.CREATED, bookingId);
+            }
+            if (rs.getString("room_status") == null) {
+                return new InsertOutcome(Result.ROOM_NOT_FOUND, null);
+            }
+            if (rs.getBoolean("conflicting")) {
+                return new InsertOutcome(Result.CONFLICT, null);
+            }
+            return new InsertOutcome(Result.ROOM_DISABLED, null);
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.mykulle.booking.system.reservation.booking.domain;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.stream.Collectors;
+
+/**
+ * Postgres exclusion constraint that keeps blocking bookings of a room from overlapping.
+ * Installed on demand by the admission modes that rely on it, since the schema is managed by Hibernate.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingOverlapConstraint {
+
+    public static final String NAME = "bookings_no_overlap";
+
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the constraint if it does not exist yet. Fails when existing rows already overlap.
+     */
+    public void ensureInstalled() {
+        var blockingStatuses = Booking.blockingStatuses().stream()
+                .map(status -> "'" + status.name() + "'")
+                .collect(Collectors.joining(", "));
+
+        jdbcTemplate.execute("create extension if not exists btree_gist");
+        jdbcTemplate.execute("""
+                do $$
+                begin
+                    if not exists (select 1 from pg_constraint where conname = '%1$s') then
+                        alter table bookings add constraint %1$s
+                            exclude using gist (room_id with =, tsrange(start_time, end_time, '[)') with &&)
+                            where (status in (%2$s));
+                    end if;
+                end
+                $$
+                """.formatted(NAME, blockingStatuses));
+        log.info("Booking overlap constraint {} is installed", NAME);
+    }
+
+    /**
+     * Whether the failure was caused by this constraint rejecting an overlapping booking.
+     */
+    public static boolean isViolatedBy(Throwable failure) {
+        var cause = NestedExceptionUtils.getMostSpecificCause(failure);
+        if (cause instanceof SQLException sqlException && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+            return true;
+        }
+        return cause.getMessage() != null && cause.getMessage().contains(NAME);
+    }
+}
@@ -0,0 +1,18 @@
+package com.mykulle.booking.system.reservation.booking.domain;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repository fragment for set-based overlap checks with plain SQL.
+ */
+public interface BookingOverlapQueries {
+
+    /**
+     * Returns the positions of the requested ranges that overlap a blocking booking of their room,
+     * resolved with one query that joins the ranges as a {@code VALUES} list.
+     */
+    Set<Integer> findOverlapping(List<RequestedRange> ranges);
+
+    record RequestedRange(Long roomId, Booking.TimeRange timeRange) {}
+}
@@ -0,0 +1,55 @@
+package com.mykulle.booking.system.reservation.booking.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+class BookingOverlapQueriesImpl implements BookingOverlapQueries {
+
+    private static final String FIND_OVERLAPPING = """
+            select distinct q.idx
+            from (values %s) as q(idx, room_id, start_time, end_time)
+            join bookings b
+              on b.room_id = q.room_id
+             and b.status in (%s)
+             and b.start_time < q.end_time
+             and b.end_time > q.start_time
+            """;
+
+    private static final String VALUES_ROW = "(cast(? as integer), cast(? as bigint), cast(? as timestamp), cast(? as timestamp))";
+
+    private static final String BLOCKING_STATUSES = Booking.blockingStatuses().stream()
+            .map(status -> "'" + status.name() + "'")
+            .collect(Collectors.joining(", "));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<Integer> findOverlapping(List<RequestedRange> ranges) {
+        if (ranges.isEmpty()) {
+            return Set.of();
+        }
+
+        var sql = FIND_OVERLAPPING.formatted(
+                String.join(", ", Collections.nCopies(ranges.size(), VALUES_ROW)),
+                BLOCKING_STATUSES
+        );
+        var parameters = new ArrayList<>(ranges.size() * 4);
+        for (var i = 0; i < ranges.size(); i++) {
+            var range = ranges.get(i);
+            parameters.add(i);
+            parameters.add(range.roomId());
+            parameters.add(range.timeRange().startTime());
+            parameters.add(range.timeRange().endTime());
+        }
+
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Integer.class, parameters.toArray()));
+    }
+}
@@ -1,15 +1,21 @@
 package com.mykulle.booking.system.reservation.booking.domain;
 
 import com.mykulle.booking.system.reservation.booking.domain.Booking.BookingStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingInsertions, BookingOverlapQueries {
 
     @Query("""
             select (count(b) > 0)
@@ -26,9 +32,259 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("statuses") Collection<BookingStatus> statuses
     );
 
-    List<Booking> findByStatusAndTimeRangeStartTimeLessThanEqual(BookingStatus status, LocalDateTime startTime);
+    @Query("""
+            select new com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot(
+                b.id, b.roomId, b.timeRange.startTime, b.timeRange.endTime, b.status
+            )
+            from Booking b
+            where b.status in :statuses
+              and b.timeRange.endTime > :after
+            """)
+    List<BookingSnapshot> findSnapshotsEndingAfter(
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("after") LocalDateTime after
+    );
+
+    @Query("""
+            select new com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot(
+                b.id, b.roomId, b.timeRange.startTime, b.timeRange.endTime, b.status
+            )
+            from Booking b
+            where b.status = :status
+              and b.timeRange.startTime <= :cutoff
+              and b.id > :afterId
+              and mod(b.roomId, :shardCount) in :shards
+            order by b.id
+            """)
+    List<BookingSnapshot> findDueByStartTime(
+            @Param("status") BookingStatus status,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterId") Long afterId,
+            @Param("shardCount") int shardCount,
+            @Param("shards") Collection<Integer> shards,
+            Pageable pageable
+    );
+
+    @Query("""
+            select new com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot(
+                b.id, b.roomId, b.timeRange.startTime, b.timeRange.endTime, b.status
+            )
+            from Booking b
+            where b.status = :status
+              and b.timeRange.endTime <= :cutoff
+              and b.id > :afterId
+              and mod(b.roomId, :shardCount) in :shards
+            order by b.id
+            """)
+    List<BookingSnapshot> findDueByEndTime(
+            @Param("status") BookingStatus status,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterId") Long afterId,
+            @Param("shardCount") int shardCount,
+            @Param("shards") Collection<Integer> shards,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("""
+            update Booking b
+            set b.status = :to, b.version = b.version + 1, b.lastModifiedAt = local datetime
+            where b.id in :ids
+              and b.status = :from
+              and b.timeRange.startTime <= :cutoff
+            """)
+    int transitionDueByStartTime(
+            @Param("ids") Collection<Long> ids,
+            @Param("from") BookingStatus from,
+            @Param("to") BookingStatus to,
+            @Param("cutoff") LocalDateTime cutoff
+    );
 
-    List<Booking> findByStatusAndTimeRangeEndTimeLessThanEqual(BookingStatus status, LocalDateTime endTime);
+    @Modifying
+    @Query("""
+            update Booking b
+            set b.status = :to, b.version = b.version + 1, b.lastModifiedAt = local datetime
+            where b.id in :ids
+              and b.status = :from
+              and b.timeRange.endTime <= :cutoff
+            """)
+    int transitionDueByEndTime(
+            @Param("ids") Collection<Long> ids,
+            @Param("from") BookingStatus from,
+            @Param("to") BookingStatus to,
+            @Param("cutoff") LocalDateTime cutoff
+    );
+
+    @Query("""
+            select new com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot(
+                b.id, b.roomId, b.timeRange.startTime, b.timeRange.endTime, b.status
+            )
+            from Booking b
+            where b.id in :ids
+              and b.status = :status
+            """)
+    List<BookingSnapshot> findSnapshotsByIdsAndStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") BookingStatus status
+    );
+
+    @Query("""
+            select new com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot(
+                b.id, b.roomId, b.timeRange.startTime, b.timeRange.endTime, b.status
+            )
+            from Booking b
+            where b.status in :statuses
+              and b.timeRange.endTime > :from
+              and b.timeRange.startTime <= :until
+            """)
+    List<BookingSnapshot> findSnapshotsActiveBetween(
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("from") LocalDateTime from,
+            @Param("until") LocalDateTime until
+    );
 
-    List<Booking> findByRoomId(Long roomId);
+    @Query("""
+            select new com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot(
+                b.id, b.roomId, b.timeRange.startTime, b.timeRange.endTime, b.status
+            )
+            from Booking b
+            where b.id > :afterId
+              and (:roomId is null or b.roomId = :roomId)
+              and (:status is null or b.status = :status)
+              and (:from is null or b.timeRange.endTime > :from)
+              and (:until is null or b.timeRange.startTime < :until)
+            order by b.id
+            """)
+    List<BookingSnapshot> findSnapshotsAfter(
+            @Param("afterId") Long afterId,
+            @Param("roomId") Long roomId,
+            @Param("status") BookingStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("until") LocalDateTime until,
+            Pageable pageable
+    );
+
+    /**
+     * Bookings changed after the keyset {@code (afterTime, afterId)} and before {@code settledBefore},
+     * in change order; a null {@code afterTime} starts from the first change.
+     */
+    @Query("""
+            select new com.mykulle.booking.system.reservation.booking.domain.BookingChange(
+                b.id, b.roomId, b.timeRange.startTime, b.timeRange.endTime, b.status, b.version, b.lastModifiedAt
+            )
+            from Booking b
+            where (:afterTime is null
+                   or b.lastModifiedAt > :afterTime
+                   or (b.lastModifiedAt = :afterTime and b.id > :afterId))
+              and b.lastModifiedAt < :settledBefore
+              and (:roomId is null or b.roomId = :roomId)
+            order by b.lastModifiedAt, b.id
+            """)
+    List<BookingChange> findChangesAfter(
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") Long afterId,
+            @Param("settledBefore") LocalDateTime settledBefore,
+            @Param("roomId") Long roomId,
+            Pageable pageable
+    );
+
+    /**
+     * Start of the oldest transaction still open on this database, or of the current one if that is older.
+     * Writes stamp {@code last_modified_at} with their transaction start, so every change stamped before this
+     * instant has already committed.
+     */
+    @Query(value = """
+            select least(localtimestamp, cast(min(a.xact_start) as timestamp))
+            from pg_stat_activity a
+            where a.datname = current_database()
+            """, nativeQuery = true)
+    LocalDateTime findChangeWatermark();
+
+    /**
+     * Streams matching bookings from a database cursor; must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot(
+                b.id, b.roomId, b.timeRange.startTime, b.timeRange.endTime, b.status
+            )
+            from Booking b
+            where (:roomId is null or b.roomId = :roomId)
+              and (:status is null or b.status = :status)
+              and (:from is null or b.timeRange.endTime > :from)
+              and (:until is null or b.timeRange.startTime < :until)
+            order by b.id
+            """)
+    Stream<BookingSnapshot> streamSnapshots(
+            @Param("roomId") Long roomId,
+            @Param("status") BookingStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("until") LocalDateTime until
+    );
+
+    /**
+     * Enabled rooms of a type without any blocking booking in the range, answered with one anti-join.
+     */
+    @Query("""
+            select new com.mykulle.booking.system.reservation.booking.domain.FreeRoom(
+                r.roomId, r.profile.name, r.profile.roomLocation.value, r.profile.roomType
+            )
+            from Room r
+            where r.profile.roomType = :roomType
+              and upper(r.operationalStatus) = 'ENABLED'
+              and (:locationPrefix is null or r.profile.roomLocation.value like concat(:locationPrefix, '%'))
+              and not exists (
+                  select 1
+                  from Booking b
+                  where b.roomId = r.roomId
+                    and b.status in :statuses
+                    and b.timeRange.startTime < :endTime
+                    and b.timeRange.endTime > :startTime
+              )
+            order by r.roomId
+            """)
+    List<FreeRoom> findAvailableRooms(
+            @Param("roomType") String roomType,
+            @Param("locationPrefix") String locationPrefix,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            Pageable pageable
+    );
+
+    @Query("""
+            select new com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot(
+                b.id, b.roomId, b.timeRange.startTime, b.timeRange.endTime, b.status
+            )
+            from Booking b
+            where b.roomId = :roomId
+              and b.status in :statuses
+              and b.timeRange.endTime > :after
+            """)
+    List<BookingSnapshot> findRoomSnapshotsEndingAfter(
+            @Param("roomId") Long roomId,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("after") LocalDateTime after
+    );
+
+    @Query("""
+            select new com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot(
+                b.id, b.roomId, b.timeRange.startTime, b.timeRange.endTime, b.status
+            )
+            from Booking b
+            where b.roomId = :roomId
+              and b.status in :statuses
+              and b.timeRange.endTime > :from
+              and b.timeRange.startTime < :until
+            order by b.timeRange.startTime
+            """)
+    List<BookingSnapshot> findRoomSnapshotsBetween(
+            @Param("roomId") Long roomId,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("from") LocalDateTime from,
+            @Param("until") LocalDateTime until
+    );
 }
@@ -0,0 +1,21 @@
+package com.mykulle.booking.system.reservation.booking.domain;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a booking row, used where loading full entities is not needed.
+ */
+public record BookingSnapshot(
+        Long id,
+        Long roomId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        BookingStatus status
+) {
+
+    public boolean isBlocking() {
+        return Booking.blockingStatuses().contains(status);
+    }
+}
@@ -0,0 +1,38 @@
+package com.mykulle.booking.system.reservation.booking.domain;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking.BookingStatus;
+
+/**
+ * Time-driven status transitions applied by the booking lifecycle.
+ */
+public enum BookingTransition {
+
+    REQUIRE_CHECK_IN(BookingStatus.CONFIRMED, BookingStatus.CHECK_IN_REQUIRED, false),
+    MARK_NO_SHOW(BookingStatus.CHECK_IN_REQUIRED, BookingStatus.NO_SHOW, false),
+    COMPLETE(BookingStatus.CHECKED_IN, BookingStatus.COMPLETED, true);
+
+    private final BookingStatus from;
+    private final BookingStatus to;
+    private final boolean dueAtEnd;
+
+    BookingTransition(BookingStatus from, BookingStatus to, boolean dueAtEnd) {
+        this.from = from;
+        this.to = to;
+        this.dueAtEnd = dueAtEnd;
+    }
+
+    public BookingStatus from() {
+        return from;
+    }
+
+    public BookingStatus to() {
+        return to;
+    }
+
+    /**
+     * Whether the transition is due relative to the booking's end time rather than its start time.
+     */
+    public boolean dueAtEnd() {
+        return dueAtEnd;
+    }
+}
@@ -0,0 +1,11 @@
+package com.mykulle.booking.system.reservation.booking.domain;
+
+/**
+ * Read-only projection of a reservation room that has no blocking booking in a searched range.
+ */
+public record FreeRoom(
+        Long roomId,
+        String name,
+        String location,
+        String roomType
+) {}
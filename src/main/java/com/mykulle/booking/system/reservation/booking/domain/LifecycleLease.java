@@ -0,0 +1,35 @@
+package com.mykulle.booking.system.reservation.booking.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time-bound ownership of one lifecycle shard by one application instance.
+ * A shard covers the bookings whose room id maps to it; see {@code LifecycleShards}.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "lifecycle_leases")
+public class LifecycleLease {
+
+    @Id
+    private Integer shard;
+
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    public LifecycleLease(Integer shard) {
+        if (shard == null || shard < 0) throw new IllegalArgumentException("shard must not be negative");
+        this.shard = shard;
+        this.expiresAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+    }
+}
@@ -0,0 +1,42 @@
+package com.mykulle.booking.system.reservation.booking.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface LifecycleLeaseRepository extends JpaRepository<LifecycleLease, Integer> {
+
+    /**
+     * Takes or renews the lease when it is free, expired or already held by the owner.
+     */
+    @Modifying
+    @Query("""
+            update LifecycleLease l
+            set l.owner = :owner, l.expiresAt = :expiresAt
+            where l.shard = :shard
+              and (l.owner = :owner or l.owner is null or l.expiresAt < :now)
+            """)
+    int acquire(
+            @Param("shard") Integer shard,
+            @Param("owner") String owner,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Query("""
+            update LifecycleLease l
+            set l.owner = null, l.expiresAt = :now
+            where l.shard in :shards
+              and l.owner = :owner
+            """)
+    int release(
+            @Param("shards") Collection<Integer> shards,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now
+    );
+}
@@ -0,0 +1,35 @@
+package com.mykulle.booking.system.reservation.booking.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Heartbeat of one application instance sharing the booking lifecycle.
+ * Every instance renews its row whether or not it holds a lease, so instances without shards still count
+ * towards the fair share; see {@code LifecycleCoordinator}.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "lifecycle_members")
+public class LifecycleMember {
+
+    @Id
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    public LifecycleMember(String owner, LocalDateTime expiresAt) {
+        if (owner == null || owner.isBlank()) throw new IllegalArgumentException("owner is required");
+        if (expiresAt == null) throw new IllegalArgumentException("expiresAt is required");
+        this.owner = owner;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,36 @@
+package com.mykulle.booking.system.reservation.booking.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface LifecycleMemberRepository extends JpaRepository<LifecycleMember, String> {
+
+    /**
+     * Extends the owner's heartbeat. Returns 0 when the owner has no row yet.
+     */
+    @Modifying
+    @Query("""
+            update LifecycleMember m
+            set m.expiresAt = :expiresAt
+            where m.owner = :owner
+            """)
+    int heartbeat(@Param("owner") String owner, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Query("""
+            select count(m)
+            from LifecycleMember m
+            where m.expiresAt > :now
+            """)
+    long countLive(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            delete from LifecycleMember m
+            where m.expiresAt < :now
+            """)
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
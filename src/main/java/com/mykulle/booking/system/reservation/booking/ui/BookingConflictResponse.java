@@ -0,0 +1,16 @@
+package com.mykulle.booking.system.reservation.booking.ui;
+
+import com.mykulle.booking.system.reservation.booking.application.BookingAlternativeDTO;
+
+import java.time.Instant;
+import java.util.List;
+
+public record BookingConflictResponse(
+        Instant timestamp,
+        int status,
+        String error,
+        String message,
+        String path,
+        List<BookingAlternativeDTO> alternatives
+) {
+}
@@ -1,16 +1,41 @@
 package com.mykulle.booking.system.reservation.booking.ui;
 
+import com.mykulle.booking.system.reservation.booking.application.AvailabilityDelta;
+import com.mykulle.booking.system.reservation.booking.application.AvailabilityFeed;
+import com.mykulle.booking.system.reservation.booking.application.AvailabilityGridDTO;
+import com.mykulle.booking.system.reservation.booking.application.AvailabilityManagement;
+import com.mykulle.booking.system.reservation.booking.application.AvailabilityQuery;
+import com.mykulle.booking.system.reservation.booking.application.AvailableRoomDTO;
+import com.mykulle.booking.system.reservation.booking.application.BookingChangeFeed;
+import com.mykulle.booking.system.reservation.booking.application.BookingChangePage;
 import com.mykulle.booking.system.reservation.booking.application.BookingDTO;
+import com.mykulle.booking.system.reservation.booking.application.BookingFilter;
 import com.mykulle.booking.system.reservation.booking.application.BookingManagement;
+import com.mykulle.booking.system.reservation.booking.application.BookingPage;
+import com.mykulle.booking.system.reservation.booking.application.BookingSeriesDTO;
+import com.mykulle.booking.system.reservation.booking.application.BookingSeriesManagement;
+import com.mykulle.booking.system.reservation.booking.application.BookingWriteLimiter;
+import com.mykulle.booking.system.reservation.booking.application.Recurrence;
 import com.mykulle.booking.system.reservation.booking.application.RoomAvailabilityDTO;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -19,14 +44,33 @@ import java.util.List;
 @RequestMapping("/bookings")
 public class BookingController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    // the feed's heartbeats detect dead connections, so the stream itself never times out
+    private static final long NO_TIMEOUT = 0L;
+
     private final BookingManagement bookingManagement;
+    private final BookingSeriesManagement bookingSeriesManagement;
+    private final BookingChangeFeed bookingChangeFeed;
+    private final BookingWriteLimiter bookingWriteLimiter;
+    private final AvailabilityManagement availabilityManagement;
+    private final AvailabilityFeed availabilityFeed;
+    private final JsonMapper jsonMapper;
 
     @PostMapping
     public ResponseEntity<BookingDTO> createBooking(@Valid @RequestBody CreateBookingRequest request) {
-        var booking = bookingManagement.createBooking(request.roomId(), request.startTime(), request.endTime());
+        var booking = bookingWriteLimiter.execute(request.roomId(),
+                () -> bookingManagement.createBooking(request.roomId(), request.startTime(), request.endTime()));
         return ResponseEntity.status(HttpStatus.CREATED).body(booking);
     }
 
+    @PostMapping("/series")
+    public ResponseEntity<BookingSeriesDTO> createSeries(@Valid @RequestBody CreateSeriesRequest request) {
+        var recurrence = new Recurrence(Recurrence.Frequency.from(request.frequency()), request.until(), request.count());
+        var series = bookingWriteLimiter.execute(request.roomId(),
+                () -> bookingSeriesManagement.createSeries(request.roomId(), request.startTime(), request.endTime(), recurrence));
+        return ResponseEntity.status(HttpStatus.CREATED).body(series);
+    }
+
     @PutMapping("/{bookingId}/cancel")
     public ResponseEntity<BookingDTO> cancelBooking(@PathVariable Long bookingId) {
         return ResponseEntity.ok(bookingManagement.cancelBooking(bookingId));
@@ -45,13 +89,62 @@ public class BookingController {
     }
 
     @GetMapping
-    public ResponseEntity<List<BookingDTO>> fetchBookings() {
-        return ResponseEntity.ok(bookingManagement.fetchBookings());
+    public ResponseEntity<BookingPage> fetchBookings(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime until,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        var filter = new BookingFilter(status, from, until);
+        return ResponseEntity.ok(bookingManagement.fetchBookings(filter, cursor, limit));
     }
 
     @GetMapping("/room/{roomId}")
-    public ResponseEntity<List<BookingDTO>> fetchBookingsByRoom(@PathVariable Long roomId) {
-        return ResponseEntity.ok(bookingManagement.fetchBookingsByRoom(roomId));
+    public ResponseEntity<BookingPage> fetchBookingsByRoom(
+            @PathVariable Long roomId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime until,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        var filter = new BookingFilter(status, from, until);
+        return ResponseEntity.ok(bookingManagement.fetchBookingsByRoom(roomId, filter, cursor, limit));
+    }
+
+    /**
+     * Bookings created or changed since {@code cursor}; pass back {@code nextCursor} on the next sync.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<BookingChangePage> fetchChanges(
+            @RequestParam(required = false) Long roomId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(bookingChangeFeed.fetchChanges(roomId, cursor, limit));
+    }
+
+    /**
+     * Writes every matching booking as one JSON object per line, straight from a database cursor.
+     */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamBookings(
+            @RequestParam(required = false) Long roomId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime until
+    ) {
+        var filter = new BookingFilter(status, from, until);
+        StreamingResponseBody body = output -> bookingManagement.streamBookings(roomId, filter, booking -> {
+            try {
+                output.write(jsonMapper.writeValueAsBytes(booking));
+                output.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     @GetMapping("/availability")
@@ -63,9 +156,100 @@ public class BookingController {
         return ResponseEntity.ok(bookingManagement.fetchRoomAvailability(roomId, startTime, endTime));
     }
 
+    /**
+     * Server-sent events with the availability deltas of the given rooms and/or building.
+     * The request thread is released at once; deltas are written from the subscription's virtual thread.
+     */
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(
+            @RequestParam(required = false) List<Long> roomIds,
+            @RequestParam(required = false) String building
+    ) {
+        var emitter = new SseEmitter(NO_TIMEOUT);
+        var subscription = availabilityFeed.subscribe(roomIds, building, new AvailabilityFeed.Subscriber() {
+            @Override
+            public void deliver(AvailabilityDelta delta) throws IOException {
+                emitter.send(SseEmitter.event().name(delta.type()).data(delta, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+
+            @Override
+            public void closed() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        return emitter;
+    }
+
+    @GetMapping("/availability/search")
+    public ResponseEntity<List<AvailableRoomDTO>> searchAvailableRooms(
+            @RequestParam String type,
+            @RequestParam(required = false) String location,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(availabilityManagement.searchAvailableRooms(type, location, startTime, endTime, limit));
+    }
+
+    @GetMapping("/availability/grid")
+    public ResponseEntity<AvailabilityGridDTO> fetchAvailabilityGrid(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Long> roomIds
+    ) {
+        return ResponseEntity.ok(availabilityManagement.fetchAvailabilityGrid(from, to, roomIds));
+    }
+
+    @GetMapping("/availability/next-free")
+    public ResponseEntity<List<RoomAvailabilityDTO>> findNextFreeSlots(
+            @RequestParam Long roomId,
+            @RequestParam long durationMinutes,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(defaultValue = "48") long horizonHours,
+            @RequestParam(required = false) Integer count
+    ) {
+        var horizon = Duration.ofHours(horizonHours);
+        return ResponseEntity.ok(availabilityManagement.findNextFreeSlots(roomId, durationMinutes, from, horizon, count));
+    }
+
+    @PostMapping("/availability/batch")
+    public ResponseEntity<List<RoomAvailabilityDTO>> checkAvailability(@Valid @RequestBody BatchAvailabilityRequest request) {
+        var queries = request.queries().stream()
+                .map(query -> new AvailabilityQuery(query.roomId(), query.startTime(), query.endTime()))
+                .toList();
+        return ResponseEntity.ok(availabilityManagement.checkAvailability(queries));
+    }
+
     public record CreateBookingRequest(
             @NotNull Long roomId,
             @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
             @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime
     ) {}
+
+    public record CreateSeriesRequest(
+            @NotNull Long roomId,
+            @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @NotBlank String frequency,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate until,
+            Integer count
+    ) {}
+
+    public record BatchAvailabilityRequest(
+            @NotEmpty @Size(max = 1000) List<@Valid AvailabilityQueryRequest> queries
+    ) {}
+
+    public record AvailabilityQueryRequest(
+            @NotNull Long roomId,
+            @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime
+    ) {}
 }
@@ -0,0 +1,62 @@
+package com.mykulle.booking.system.reservation.booking.ui;
+
+import com.mykulle.booking.system.reservation.booking.application.BookingConflictException;
+import com.mykulle.booking.system.reservation.booking.application.BookingOverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.Instant;
+
+/**
+ * Booking-specific error responses; runs before the global handler, which would map the conflict to a plain 409.
+ * Shed booking writes answer 503 with {@code Retry-After}.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RestControllerAdvice(assignableTypes = BookingController.class)
+public class BookingExceptionHandler {
+
+    @ExceptionHandler(BookingConflictException.class)
+    public ResponseEntity<BookingConflictResponse> handleBookingConflict(
+            BookingConflictException ex,
+            HttpServletRequest request
+    ) {
+        var status = HttpStatus.CONFLICT;
+        var response = new BookingConflictResponse(
+                Instant.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                ex.getAlternatives()
+        );
+
+        return ResponseEntity.status(status).body(response);
+    }
+
+    @ExceptionHandler(BookingOverloadedException.class)
+    public ResponseEntity<BookingOverloadedResponse> handleBookingOverloaded(
+            BookingOverloadedException ex,
+            HttpServletRequest request
+    ) {
+        var status = HttpStatus.SERVICE_UNAVAILABLE;
+        var retryAfterSeconds = Math.max(1L, ex.getRetryAfter().toSeconds());
+        var response = new BookingOverloadedResponse(
+                Instant.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                retryAfterSeconds
+        );
+
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response);
+    }
+}
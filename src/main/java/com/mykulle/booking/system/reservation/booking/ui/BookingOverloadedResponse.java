@@ -0,0 +1,13 @@
+package com.mykulle.booking.system.reservation.booking.ui;
+
+import java.time.Instant;
+
+public record BookingOverloadedResponse(
+        Instant timestamp,
+        int status,
+        String error,
+        String message,
+        String path,
+        long retryAfterSeconds
+) {
+}
@@ -2,6 +2,7 @@
         displayName = "Reservation",
         allowedDependencies = {
                 "com.mykulle.booking.system.catalog",
+                "com.mykulle.booking.system.shared::coherence",
                 "com.mykulle.booking.system.useraccount::identity"
         }
 )
@@ -3,46 +3,243 @@ package com.mykulle.booking.system.reservation.rooms.application;
 import com.mykulle.booking.system.catalog.RoomCatalogEvent;
 import com.mykulle.booking.system.reservation.rooms.domain.Room;
 import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.modulith.events.ApplicationModuleListener;
+import com.mykulle.booking.system.shared.coherence.CacheCoherence;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
-@Transactional
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the reservation rooms in sync with the catalog.
+ * Catalog events are queued and applied in micro-batches: changes to the same room are collapsed
+ * into one, and each batch is written with bulk statements in a single transaction.
+ * Listeners only enqueue and return a future that the drain completes once the batch holding the change
+ * has committed; Spring Modulith completes the event publication with that future, so no listener thread waits
+ * for a batch and a change still queued stays an incomplete publication. The queue is flushed on shutdown;
+ * changes lost in a crash are left to the resubmission of incomplete publications.
+ * Applied rooms are announced to other instances in the {@value #COHERENCE_REGION} region, keyed by room id.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
-public class RoomManagement {
+public class RoomManagement implements MeterBinder, DisposableBean {
+
+    public static final String COHERENCE_REGION = "rooms";
+
+    private static final int MAX_ANNOUNCED_ROOMS = 50;
 
     private final RoomRepository rooms;
+    private final CacheCoherence coherence;
+    private final TransactionTemplate transactions;
+    private final int maxBatchSize;
+
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    // Batches are applied one at a time so later changes of a room never commit before earlier ones
+    private final ReentrantLock draining = new ReentrantLock();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public RoomManagement(
+            RoomRepository rooms,
+            CacheCoherence coherence,
+            PlatformTransactionManager transactionManager,
+            @Value("${reservation.rooms.projection.max-batch-size:500}") int maxBatchSize
+    ) {
+        this.rooms = rooms;
+        this.coherence = coherence;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @TransactionalEventListener
+    public CompletableFuture<Void> on(RoomCatalogEvent.RoomAddedToCatalog e) {
+        return submit(e);
+    }
+
+    @TransactionalEventListener
+    public CompletableFuture<Void> on(RoomCatalogEvent.RoomsImportedToCatalog e) {
+        return submit(e);
+    }
+
+    @TransactionalEventListener
+    public CompletableFuture<Void> on(RoomCatalogEvent.RoomOperationalStatusChanged e) {
+        return submit(e);
+    }
+
+    @TransactionalEventListener
+    public CompletableFuture<Void> on(RoomCatalogEvent.RoomRemovedFromCatalog e) {
+        return submit(e);
+    }
+
+    /**
+     * Drains the queue batch by batch. Configure with:
+     * reservation.rooms.projection.delay-ms=200
+     */
+    @Scheduled(fixedDelayString = "${reservation.rooms.projection.delay-ms:200}")
+    public void flush() {
+        draining.lock();
+        try {
+            while (applyNextBatch()) {
+                // keep draining until the queue is empty
+            }
+        } finally {
+            draining.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reservation.rooms.projection.lag", this, RoomManagement::lagMillis)
+                .description("Age of the oldest catalog change not yet applied to reservation rooms")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("reservation.rooms.projection.pending", queue, Queue::size)
+                .description("Catalog changes waiting to be applied to reservation rooms")
+                .register(registry);
+        FunctionCounter.builder("reservation.rooms.projection.applied", applied, LongAdder::sum)
+                .description("Catalog changes applied to reservation rooms")
+                .register(registry);
+        FunctionCounter.builder("reservation.rooms.projection.coalesced", coalesced, LongAdder::sum)
+                .description("Catalog changes collapsed into a later change of the same room")
+                .register(registry);
+    }
 
-    @ApplicationModuleListener
-    public void on(RoomCatalogEvent.RoomAddedToCatalog e) {
-        var profile = new Room.RoomProfile(
-                e.name(),
-                new Room.RoomLocation(e.roomLocation()),
-                e.type()
-        );
-
-        var room = rooms.findById(e.roomId())
-                .map(existing -> {
-                    existing.update(profile, e.operationalStatus());
-                    return existing;
+    CompletableFuture<Void> submit(RoomCatalogEvent event) {
+        var changes = switch (event) {
+            case RoomCatalogEvent.RoomAddedToCatalog e -> List.of(RoomChange.added(e));
+            case RoomCatalogEvent.RoomsImportedToCatalog e -> e.rooms().stream().map(RoomChange::added).toList();
+            case RoomCatalogEvent.RoomOperationalStatusChanged e -> List.of(RoomChange.statusChanged(e.roomId(), e.operationalStatus()));
+            case RoomCatalogEvent.RoomRemovedFromCatalog e -> List.of(RoomChange.removed(e.roomId()));
+            default -> throw new IllegalArgumentException("Unsupported catalog event: " + event);
+        };
+
+        var now = System.nanoTime();
+        var futures = changes.stream()
+                .map(change -> {
+                    var pending = new Pending(change, now, new CompletableFuture<Void>());
+                    queue.add(pending);
+                    return pending.applied();
                 })
-                .orElseGet(() -> new Room(e.roomId(), profile, e.operationalStatus()));
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
+    }
 
-        rooms.save(room);
+    long lagMillis() {
+        var oldest = queue.peek();
+        return oldest == null ? 0L : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedNanos());
     }
 
-    @ApplicationModuleListener
-    public void on(RoomCatalogEvent.RoomOperationalStatusChanged e) {
-        rooms.findById(e.roomId()).ifPresent(room -> {
-            room.update(room.getProfile(), e.operationalStatus());
-            rooms.save(room);
-        });
+    private boolean applyNextBatch() {
+        var batch = new ArrayList<Pending>();
+        Pending next;
+        while (batch.size() < maxBatchSize && (next = queue.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        var changes = new LinkedHashMap<Long, RoomChange>();
+        batch.forEach(pending -> changes.merge(pending.change().roomId(), pending.change(), RoomChange::then));
+        coalesced.add(batch.size() - changes.size());
+
+        try {
+            transactions.executeWithoutResult(status -> apply(changes.values()));
+            applied.add(batch.size());
+            batch.forEach(pending -> pending.applied().complete(null));
+        } catch (Throwable ex) {
+            log.warn("Applying {} catalog changes to reservation rooms failed", batch.size(), ex);
+            batch.forEach(pending -> pending.applied().completeExceptionally(ex));
+            if (ex instanceof Error error) {
+                throw error;
+            }
+        }
+        return true;
     }
 
-    @ApplicationModuleListener
-    public void on(RoomCatalogEvent.RoomRemovedFromCatalog e) {
-        rooms.deleteById(e.roomId());
+    private void apply(Collection<RoomChange> changes) {
+        var upserts = new ArrayList<Room>();
+        var statuses = new LinkedHashMap<Long, String>();
+        var removals = new ArrayList<Long>();
+
+        for (var change : changes) {
+            if (change.removed()) {
+                removals.add(change.roomId());
+            } else if (change.profile() != null) {
+                upserts.add(new Room(change.roomId(), change.profile(), change.operationalStatus()));
+            } else {
+                statuses.put(change.roomId(), change.operationalStatus());
+            }
+        }
+
+        rooms.upsertAll(upserts);
+        rooms.updateOperationalStatuses(statuses);
+        if (!removals.isEmpty()) {
+            rooms.deleteAllByIdInBatch(removals);
+        }
+
+        if (changes.size() > MAX_ANNOUNCED_ROOMS) {
+            coherence.publish(COHERENCE_REGION, CacheCoherence.ALL);
+        } else {
+            changes.forEach(change -> coherence.publish(COHERENCE_REGION, String.valueOf(change.roomId())));
+        }
+    }
+
+    /**
+     * Net change of one room: a full upsert when the profile is known, a status update otherwise, or a removal.
+     */
+    record RoomChange(Long roomId, Room.RoomProfile profile, String operationalStatus, boolean removed) {
+
+        static RoomChange added(RoomCatalogEvent.RoomAddedToCatalog e) {
+            var profile = new Room.RoomProfile(e.name(), new Room.RoomLocation(e.roomLocation()), e.type());
+            return new RoomChange(e.roomId(), profile, e.operationalStatus(), false);
+        }
+
+        static RoomChange statusChanged(Long roomId, String operationalStatus) {
+            return new RoomChange(roomId, null, operationalStatus, false);
+        }
+
+        static RoomChange removed(Long roomId) {
+            return new RoomChange(roomId, null, null, true);
+        }
+
+        /**
+         * Collapses this change with a later change of the same room.
+         */
+        RoomChange then(RoomChange next) {
+            if (next.removed() || next.profile() != null) {
+                return next;
+            }
+            if (removed) {
+                return this;
+            }
+            return new RoomChange(roomId, profile, next.operationalStatus(), false);
+        }
     }
+
+    private record Pending(RoomChange change, long enqueuedNanos, CompletableFuture<Void> applied) {}
 }
@@ -7,6 +7,8 @@ import org.jmolecules.ddd.annotation.AggregateRoot;
 import org.jmolecules.ddd.annotation.Identity;
 import org.jmolecules.ddd.annotation.ValueObject;
 
+import java.util.Locale;
+
 @AggregateRoot
 @Entity
 @Getter
@@ -69,5 +71,13 @@ public class Room {
         public RoomLocation {
             if (value == null || value.isBlank()) throw new IllegalArgumentException("roomLocation value is required");
         }
+
+        /**
+         * Building of a location: the part before the first {@code -}, upper-cased, e.g. {@code LIB} for {@code LIB-03-12}.
+         */
+        public static String buildingOf(String location) {
+            var separator = location.indexOf('-');
+            return (separator < 0 ? location : location.substring(0, separator)).toUpperCase(Locale.ROOT);
+        }
     }
 }
@@ -0,0 +1,31 @@
+package com.mykulle.booking.system.reservation.rooms.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Transaction-scoped Postgres advisory lock on a single room-day.
+ * Bookings for different days of the same room do not wait for each other.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomDayLock {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Blocks until the lock is held; it is released when the surrounding transaction ends.
+     * Callers locking several days must lock them in ascending order.
+     */
+    public void acquire(Long roomId, LocalDate day) {
+        jdbcTemplate.query(
+                "select pg_advisory_xact_lock(?, ?)",
+                rs -> null,
+                Long.hashCode(roomId),
+                Math.toIntExact(day.toEpochDay())
+        );
+    }
+}
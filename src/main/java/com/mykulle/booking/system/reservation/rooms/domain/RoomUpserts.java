@@ -0,0 +1,20 @@
+package com.mykulle.booking.system.reservation.rooms.domain;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Repository fragment for writing many reservation rooms with plain SQL.
+ */
+public interface RoomUpserts {
+
+    /**
+     * Inserts or updates every room with one batched {@code MERGE} statement.
+     */
+    void upsertAll(Collection<Room> rooms);
+
+    /**
+     * Sets the operational status of existing rooms with one batched {@code UPDATE}; unknown rooms are ignored.
+     */
+    void updateOperationalStatuses(Map<Long, String> statuses);
+}
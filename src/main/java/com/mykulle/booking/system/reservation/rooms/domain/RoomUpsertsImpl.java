@@ -0,0 +1,60 @@
+package com.mykulle.booking.system.reservation.rooms.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class RoomUpsertsImpl implements RoomUpserts {
+
+    private static final String UPSERT = """
+            merge into reservation_room r
+            using (values (cast(? as bigint), cast(? as varchar), cast(? as varchar), cast(? as varchar), cast(? as varchar)))
+                as v(room_id, name, room_location, room_type, operational_status)
+            on r.room_id = v.room_id
+            when matched then update set
+                name = v.name,
+                room_location = v.room_location,
+                room_type = v.room_type,
+                operational_status = v.operational_status
+            when not matched then insert (room_id, name, room_location, room_type, operational_status)
+                values (v.room_id, v.name, v.room_location, v.room_type, v.operational_status)
+            """;
+
+    private static final String UPDATE_STATUS = """
+            update reservation_room
+            set operational_status = ?
+            where room_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertAll(Collection<Room> rooms) {
+        if (rooms.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT, rooms, rooms.size(), (statement, room) -> {
+            statement.setLong(1, room.getRoomId());
+            statement.setString(2, room.getProfile().name());
+            statement.setString(3, room.getProfile().roomLocation().value());
+            statement.setString(4, room.getProfile().roomType());
+            statement.setString(5, room.getOperationalStatus());
+        });
+    }
+
+    @Override
+    public void updateOperationalStatuses(Map<Long, String> statuses) {
+        if (statuses.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_STATUS, statuses.entrySet(), statuses.size(), (statement, status) -> {
+            statement.setString(1, status.getValue());
+            statement.setLong(2, status.getKey());
+        });
+    }
+}
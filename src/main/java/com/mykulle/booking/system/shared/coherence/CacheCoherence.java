@@ -0,0 +1,16 @@
+package com.mykulle.booking.system.shared.coherence;
+
+/**
+ * Tells the other instances of the application that cached data changed.
+ * Each region has its own key format; {@link #ALL} stands for every key of the region.
+ */
+public interface CacheCoherence {
+
+    String ALL = "*";
+
+    /**
+     * Announces a change of {@code key} in {@code region}. Called inside the changing transaction,
+     * the announcement is delivered only if and when that transaction commits.
+     */
+    void publish(String region, String key);
+}
@@ -0,0 +1,29 @@
+package com.mykulle.booking.system.shared.coherence;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * An in-process cache that must drop entries changed by another instance.
+ */
+public interface CoherentCache {
+
+    Set<String> regions();
+
+    /**
+     * Drops what another instance announced as changed; {@code key} may be {@link CacheCoherence#ALL}.
+     */
+    void evict(String region, String key);
+
+    /**
+     * Drops the keys of one region announced together, so a cache can handle repeated keys once.
+     */
+    default void evictAll(String region, Collection<String> keys) {
+        keys.forEach(key -> evict(region, key));
+    }
+
+    /**
+     * Drops everything, because announcements may have been missed.
+     */
+    void clear();
+}
@@ -0,0 +1,16 @@
+package com.mykulle.booking.system.shared.coherence;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-instance setup: local caches are kept current by application events, so there is nobody to tell.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cache-coherence", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class LocalCacheCoherence implements CacheCoherence {
+
+    @Override
+    public void publish(String region, String key) {
+    }
+}
@@ -0,0 +1,187 @@
+package com.mykulle.booking.system.shared.coherence;
+
+import com.mykulle.booking.system.shared.concurrency.ConcurrencyLimitedDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache coherence between instances over Postgres {@code LISTEN/NOTIFY}.
+ * Announcements are sent with {@code pg_notify} in the changing transaction, so Postgres delivers them
+ * on commit only; Postgres also drops duplicate notifications of one transaction. A dedicated thread holds one connection
+ * from the pool, bypassing the {@link ConcurrencyLimitedDataSource} when it is installed, listens on the channel and
+ * evicts the matching {@link CoherentCache} entries; announcements from this instance are skipped.
+ * Notifications sent while the listener is disconnected are lost, so every cache is cleared after a reconnect.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.cache-coherence", name = "enabled", havingValue = "true")
+public class PostgresCacheCoherence implements CacheCoherence, MeterBinder, DisposableBean {
+
+    private static final String SEPARATOR = "|";
+    private static final int POLL_MILLIS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ObjectProvider<CoherentCache> caches;
+    private final String channel;
+    private final long maxReconnectDelayMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private volatile boolean connected;
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresCacheCoherence(
+            JdbcTemplate jdbcTemplate,
+            DataSource dataSource,
+            ObjectProvider<CoherentCache> caches,
+            @Value("${app.cache-coherence.channel:cache_coherence}") String channel,
+            @Value("${app.cache-coherence.max-reconnect-delay-ms:30000}") long maxReconnectDelayMillis
+    ) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid cache coherence channel: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        // The listener holds its connection for good; it must not keep one of the limiter's permits as well.
+        this.dataSource = dataSource instanceof ConcurrencyLimitedDataSource limited
+                ? limited.getTargetDataSource()
+                : dataSource;
+        this.caches = caches;
+        this.channel = channel;
+        this.maxReconnectDelayMillis = maxReconnectDelayMillis;
+    }
+
+    @Override
+    public void publish(String region, String key) {
+        jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, channel, String.join(SEPARATOR, nodeId, region, key));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().name("cache-coherence-listener").daemon().start(this::listen);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.cache-coherence.connected", this, coherence -> coherence.connected ? 1 : 0)
+                .description("Whether this instance is listening for cache changes of other instances")
+                .register(registry);
+        FunctionCounter.builder("app.cache-coherence.received", received, LongAdder::sum)
+                .description("Cache changes announced by other instances")
+                .register(registry);
+        FunctionCounter.builder("app.cache-coherence.flushes", flushes, LongAdder::sum)
+                .description("Full cache flushes after the listener reconnected")
+                .register(registry);
+    }
+
+    /**
+     * Hands the announcements of other instances to the caches, one call per region,
+     * with repeated keys collapsed so a burst of changes to one entry is handled once.
+     */
+    void dispatch(List<String> payloads) {
+        var keysByRegion = new LinkedHashMap<String, Set<String>>();
+        for (var payload : payloads) {
+            var parts = payload.split("\\" + SEPARATOR, 3);
+            if (parts.length != 3 || parts[0].equals(nodeId)) {
+                continue;
+            }
+            received.increment();
+            keysByRegion.computeIfAbsent(parts[1], region -> new LinkedHashSet<>()).add(parts[2]);
+        }
+        keysByRegion.forEach((region, keys) -> caches.forEach(cache -> {
+            if (cache.regions().contains(region)) {
+                try {
+                    cache.evictAll(region, keys);
+                } catch (RuntimeException e) {
+                    log.warn("Evicting {} keys of {} failed, clearing the cache", keys.size(), region, e);
+                    cache.clear();
+                }
+            }
+        }));
+    }
+
+    void flushAll() {
+        flushes.increment();
+        caches.forEach(CoherentCache::clear);
+    }
+
+    private void listen() {
+        var delay = 500L;
+        var reconnect = false;
+        while (running) {
+            try (var connection = dataSource.getConnection();
+                 var statement = connection.createStatement()) {
+                var notifications = connection.unwrap(PGConnection.class);
+                statement.execute("listen " + channel);
+                connected = true;
+                delay = 500L;
+                if (reconnect) {
+                    flushAll();
+                }
+                reconnect = true;
+                log.info("Listening for cache changes on channel {}", channel);
+
+                while (running) {
+                    var batch = notifications.getNotifications(POLL_MILLIS);
+                    if (batch == null || batch.length == 0) {
+                        // Nothing arrived; make sure the connection is still alive.
+                        statement.execute("select 1");
+                        continue;
+                    }
+                    dispatch(Arrays.stream(batch).map(PGNotification::getParameter).toList());
+                }
+            } catch (SQLException | RuntimeException e) {
+                connected = false;
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache coherence listener lost its connection, reconnecting in {} ms", delay, e);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                delay = Math.min(delay * 2, maxReconnectDelayMillis);
+            }
+        }
+        connected = false;
+    }
+}
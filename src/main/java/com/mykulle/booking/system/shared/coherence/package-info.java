@@ -0,0 +1,4 @@
+@NamedInterface("coherence")
+package com.mykulle.booking.system.shared.coherence;
+
+import org.springframework.modulith.NamedInterface;
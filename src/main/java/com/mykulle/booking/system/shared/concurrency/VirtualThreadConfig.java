@@ -0,0 +1,40 @@
+package com.mykulle.booking.system.shared.concurrency;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Safeguards for running on virtual threads ({@code spring.threads.virtual.enabled=true}), which
+ * Spring Boot then uses for Tomcat requests, {@code @Scheduled} tasks and asynchronous module listeners.
+ * The data source is wrapped in a {@link ConcurrencyLimitedDataSource}, sized like the connection pool by default.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.db-limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                var poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                var connectionTimeout = environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30_000L);
+                return new ConcurrencyLimitedDataSource(
+                        dataSource,
+                        environment.getProperty("app.db-limiter.max-concurrency", Integer.class, poolSize),
+                        environment.getProperty("app.db-limiter.max-waiting", Integer.class, 1000),
+                        environment.getProperty("app.db-limiter.acquire-timeout-ms", Long.class, connectionTimeout)
+                );
+            }
+        };
+    }
+}
@@ -123,6 +123,9 @@ public class GlobalApiExceptionHandler {
             if (normalized.contains("room_location")) {
                 return "Room location already exists";
             }
+            if (normalized.contains("bookings_no_overlap")) {
+                return "Room is not available for the requested time range";
+            }
         }
 
         return "Data integrity violation";
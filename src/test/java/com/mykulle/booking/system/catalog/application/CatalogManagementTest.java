@@ -13,11 +13,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -37,6 +40,9 @@ class CatalogManagementTest {
     @Mock
     private AuthorizationService authorizationService;
 
+    @Mock
+    private CatalogReadCache cache;
+
     @InjectMocks
     private CatalogManagement catalogManagement;
 
@@ -111,4 +117,41 @@ class CatalogManagementTest {
         var event = (RoomCatalogEvent.RoomRemovedFromCatalog) eventCaptor.getValue();
         assertThat(event.roomId()).isEqualTo(22L);
     }
+
+    @Test
+    void importRooms_savesValidRows_reportsInvalidOnes_andPublishesOneEvent() {
+        var taken = new CatalogRoom(new CatalogRoom.RoomProfile(
+                "Existing Room",
+                new CatalogRoom.RoomLocation("ENG-01-10"),
+                CatalogRoom.RoomType.MEETING_ROOM
+        ));
+        when(catalogRepository.findByProfileRoomLocationValueIn(any())).thenReturn(List.of(taken));
+        when(catalogRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<CatalogRoom> rooms = invocation.getArgument(0);
+            for (var i = 0; i < rooms.size(); i++) {
+                ReflectionTestUtils.setField(rooms.get(i), "Id", 100L + i);
+            }
+            return rooms;
+        });
+
+        var result = catalogManagement.importRooms(Stream.of(
+                new RoomImportRow(2, "Focus Room", "ENG-01-01", "study_room"),
+                new RoomImportRow(3, "Bad Room", "eng 1", "STUDY_ROOM"),
+                new RoomImportRow(4, "Board Room", "ENG-01-02", "BOARD_ROOM"),
+                new RoomImportRow(5, "Copy", "ENG-01-01", "STUDY_ROOM"),
+                new RoomImportRow(6, "Taken", "ENG-01-10", "MEETING_ROOM"),
+                new RoomImportRow(7, "Meeting Room", "ENG-01-03", "MEETING_ROOM")
+        ));
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.errors()).extracting(RoomImportResult.RowError::line).containsExactly(3, 4, 5, 6);
+        verify(authorizationService).requireStaff();
+
+        var eventCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(events).publishEvent(eventCaptor.capture());
+        var event = (RoomCatalogEvent.RoomsImportedToCatalog) eventCaptor.getValue();
+        assertThat(event.rooms()).extracting(RoomCatalogEvent.RoomAddedToCatalog::roomLocation)
+                .containsExactly("ENG-01-01", "ENG-01-03");
+        assertThat(event.rooms()).extracting(RoomCatalogEvent.RoomAddedToCatalog::roomId).containsExactly(100L, 101L);
+    }
 }
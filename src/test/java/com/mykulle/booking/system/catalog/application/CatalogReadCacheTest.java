@@ -0,0 +1,92 @@
+package com.mykulle.booking.system.catalog.application;
+
+import com.mykulle.booking.system.catalog.RoomCatalogEvent;
+import com.mykulle.booking.system.shared.coherence.LocalCacheCoherence;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogReadCacheTest {
+
+    private static final RoomDTO FOCUS_ROOM = new RoomDTO(10L, "Focus Room", "LIB-03-12", "STUDY_ROOM", "ENABLED");
+    private static final RoomDTO MEETING_ROOM = new RoomDTO(11L, "Meeting Room", "LIB-03-20", "MEETING_ROOM", "ENABLED");
+
+    private final CatalogReadCache cache = new CatalogReadCache(new LocalCacheCoherence(), 100);
+
+    @Test
+    void get_loadsOnce_andServesRepeatedReadsFromMemory() {
+        var loads = new AtomicInteger();
+
+        cache.get(CatalogReadCache.Key.all(), () -> {
+            loads.incrementAndGet();
+            return List.of(FOCUS_ROOM);
+        });
+        var second = cache.get(CatalogReadCache.Key.all(), () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        assertThat(second).containsExactly(FOCUS_ROOM);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void statusChange_evictsOnlyEntriesHoldingTheRoom_andTheEnabledList() {
+        cache.get(CatalogReadCache.Key.all(), () -> List.of(FOCUS_ROOM, MEETING_ROOM));
+        cache.get(CatalogReadCache.Key.enabled(), () -> List.of(MEETING_ROOM));
+        cache.get(CatalogReadCache.Key.type("STUDY_ROOM"), () -> List.of(FOCUS_ROOM));
+        cache.get(CatalogReadCache.Key.type("MEETING_ROOM"), () -> List.of(MEETING_ROOM));
+
+        cache.on(new RoomCatalogEvent.RoomOperationalStatusChanged(10L, "ENABLED"));
+
+        assertThat(cached(CatalogReadCache.Key.type("MEETING_ROOM"))).isTrue();
+        assertThat(cached(CatalogReadCache.Key.type("STUDY_ROOM"))).isFalse();
+        assertThat(cached(CatalogReadCache.Key.all())).isFalse();
+        assertThat(cached(CatalogReadCache.Key.enabled())).isFalse();
+    }
+
+    @Test
+    void roomAdded_evictsNegativeLookupsForItsLocationAndId() {
+        cache.get(CatalogReadCache.Key.location("LIB-03-30"), List::of);
+        cache.get(CatalogReadCache.Key.id(12L), List::of);
+        cache.get(CatalogReadCache.Key.type("MEETING_ROOM"), () -> List.of(MEETING_ROOM));
+
+        cache.on(new RoomCatalogEvent.RoomAddedToCatalog(12L, "New Room", "LIB-03-30", "STUDY_ROOM", "ENABLED"));
+
+        assertThat(cached(CatalogReadCache.Key.location("LIB-03-30"))).isFalse();
+        assertThat(cached(CatalogReadCache.Key.id(12L))).isFalse();
+        assertThat(cached(CatalogReadCache.Key.type("MEETING_ROOM"))).isTrue();
+    }
+
+    @Test
+    void get_doesNotCacheResultRead_whileAnEvictionRan() {
+        cache.get(CatalogReadCache.Key.all(), () -> {
+            cache.on(new RoomCatalogEvent.RoomRemovedFromCatalog(10L));
+            return List.of(FOCUS_ROOM);
+        });
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void staysWithinItsBound() {
+        var small = new CatalogReadCache(new LocalCacheCoherence(), 2);
+        small.get(CatalogReadCache.Key.id(1L), List::of);
+        small.get(CatalogReadCache.Key.id(2L), List::of);
+        small.get(CatalogReadCache.Key.id(3L), List::of);
+
+        assertThat(small.size()).isEqualTo(2);
+    }
+
+    private boolean cached(CatalogReadCache.Key key) {
+        var missed = new AtomicInteger();
+        cache.get(key, () -> {
+            missed.incrementAndGet();
+            return List.of();
+        });
+        return missed.get() == 0;
+    }
+}
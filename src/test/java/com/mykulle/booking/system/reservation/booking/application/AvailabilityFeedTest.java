@@ -0,0 +1,132 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.catalog.RoomCatalogEvent;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityFeedTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    @Mock
+    private RoomOccupancyIndex occupancyIndex;
+
+    private AvailabilityFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new AvailabilityFeed(occupancyIndex, 2, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.destroy();
+    }
+
+    @Test
+    void roomSubscriber_receivesBookingsOfItsRoomsOnly() throws InterruptedException {
+        var subscriber = new RecordingSubscriber();
+        feed.subscribe(List.of(5L), null, subscriber);
+
+        feed.on(new BookingEvent.BookingCreated(12L, 6L, START, START.plusHours(1), "CONFIRMED"));
+        feed.on(new BookingEvent.BookingStatusChanged(11L, 5L, START, START.plusHours(1), "CANCELLED"));
+
+        var delta = subscriber.next();
+        assertThat(delta.type()).isEqualTo("BOOKING");
+        assertThat(delta.bookingId()).isEqualTo(11L);
+        assertThat(delta.occupied()).isFalse();
+        assertThat(subscriber.deltas).isEmpty();
+    }
+
+    @Test
+    void buildingSubscriber_receivesChangesOfRoomsInThatBuilding() throws InterruptedException {
+        when(occupancyIndex.findRoom(7L)).thenReturn(Optional.of(new AvailableRoomDTO(7L, "Focus Room", "LIB-03-12", "STUDY_ROOM")));
+        when(occupancyIndex.findRoom(8L)).thenReturn(Optional.of(new AvailableRoomDTO(8L, "Lab", "ENG-01-02", "LAB")));
+        var subscriber = new RecordingSubscriber();
+        feed.subscribe(null, "lib", subscriber);
+
+        feed.on(new RoomCatalogEvent.RoomOperationalStatusChanged(8L, "DISABLED"));
+        feed.on(new RoomCatalogEvent.RoomOperationalStatusChanged(7L, "DISABLED"));
+
+        var delta = subscriber.next();
+        assertThat(delta.type()).isEqualTo("ROOM");
+        assertThat(delta.roomId()).isEqualTo(7L);
+        assertThat(delta.status()).isEqualTo("DISABLED");
+    }
+
+    @Test
+    void subscriberFallingBehind_isClosed() throws InterruptedException {
+        var blocked = new CountDownLatch(1);
+        var subscriber = new RecordingSubscriber() {
+            @Override
+            public void deliver(AvailabilityDelta delta) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        feed.subscribe(List.of(5L), null, subscriber);
+
+        for (long bookingId = 1; bookingId <= 4; bookingId++) {
+            feed.on(new BookingEvent.BookingCreated(bookingId, 5L, START, START.plusHours(1), "CONFIRMED"));
+        }
+
+        assertThat(subscriber.closed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(feed.subscriberCount()).isZero();
+    }
+
+    @Test
+    void subscribe_rejectsEmptyAndOversizedSubscriptions() {
+        var subscriber = new RecordingSubscriber();
+        var tooMany = LongStream.rangeClosed(1, AvailabilityFeed.MAX_ROOMS_PER_SUBSCRIPTION + 1).boxed().toList();
+
+        assertThatThrownBy(() -> feed.subscribe(List.of(), " ", subscriber)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> feed.subscribe(tooMany, null, subscriber)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static class RecordingSubscriber implements AvailabilityFeed.Subscriber {
+
+        final LinkedBlockingQueue<AvailabilityDelta> deltas = new LinkedBlockingQueue<>();
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        AvailabilityDelta next() throws InterruptedException {
+            var delta = deltas.poll(5, TimeUnit.SECONDS);
+            assertThat(delta).isNotNull();
+            return delta;
+        }
+
+        @Override
+        public void deliver(AvailabilityDelta delta) {
+            deltas.add(delta);
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void closed() {
+            closed.countDown();
+        }
+    }
+}
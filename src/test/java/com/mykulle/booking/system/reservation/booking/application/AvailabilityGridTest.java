@@ -0,0 +1,59 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityGridTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private AvailabilityGrid grid;
+
+    @Test
+    void occupancy_buildsSlotMasksPerRoomAndDay_fromOneQuery() {
+        when(bookingRepository.findSnapshotsActiveBetween(any(), any(), any())).thenReturn(List.of(
+                new BookingSnapshot(1L, 5L, DAY.atTime(9, 0), DAY.atTime(10, 0), Booking.BookingStatus.CONFIRMED),
+                new BookingSnapshot(2L, 5L, DAY.atTime(23, 30), DAY.plusDays(1).atTime(0, 30), Booking.BookingStatus.CHECKED_IN)
+        ));
+
+        var occupancy = grid.occupancy(DAY, DAY.plusDays(1));
+
+        assertThat(occupancy.get(DAY)).containsEntry(5L, SlotBitmap.mask(18, 20) | SlotBitmap.mask(47, 48));
+        assertThat(occupancy.get(DAY.plusDays(1))).containsEntry(5L, SlotBitmap.mask(0, 1));
+        verify(bookingRepository, times(1)).findSnapshotsActiveBetween(any(), any(), any());
+    }
+
+    @Test
+    void occupancy_isCached_untilBookingOnThatDayChanges() {
+        when(bookingRepository.findSnapshotsActiveBetween(any(), any(), any())).thenReturn(List.of());
+
+        grid.occupancy(DAY, DAY);
+        grid.occupancy(DAY, DAY);
+        verify(bookingRepository, times(1)).findSnapshotsActiveBetween(any(), any(), any());
+
+        grid.on(new BookingEvent.BookingCreated(9L, 5L, DAY.atTime(9, 0), DAY.atTime(10, 0), "CONFIRMED"));
+        grid.occupancy(DAY, DAY);
+        verify(bookingRepository, times(2)).findSnapshotsActiveBetween(any(), any(), any());
+    }
+}
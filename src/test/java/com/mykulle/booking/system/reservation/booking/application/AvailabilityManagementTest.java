@@ -0,0 +1,154 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.booking.domain.FreeRoom;
+import com.mykulle.booking.system.reservation.rooms.domain.Room;
+import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityManagementTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomOccupancyIndex occupancyIndex;
+
+    @Mock
+    private AvailabilityGrid availabilityGrid;
+
+    @InjectMocks
+    private AvailabilityManagement availabilityManagement;
+
+    @Test
+    void searchAvailableRooms_answersFromIndex_withoutQueryingDatabase() {
+        var free = List.of(new AvailableRoomDTO(5L, "Focus Room", "LIB-03-12", "STUDY_ROOM"));
+        when(occupancyIndex.findFreeRooms(eq("STUDY_ROOM"), eq("LIB-03"), any(Booking.TimeRange.class), eq(100)))
+                .thenReturn(Optional.of(free));
+
+        var result = availabilityManagement.searchAvailableRooms("study_room", "LIB-03", START, START.plusHours(1), null);
+
+        assertThat(result).isEqualTo(free);
+        verify(bookingRepository, never()).findAvailableRooms(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void searchAvailableRooms_fallsBackToAntiJoin_whenIndexCannotAnswer() {
+        when(occupancyIndex.findFreeRooms(any(), any(), any(), eq(10))).thenReturn(Optional.empty());
+        var room = new FreeRoom(7L, "Quiet Room", "ENG-01-02", "STUDY_ROOM");
+        when(bookingRepository.findAvailableRooms(eq("STUDY_ROOM"), eq(null), eq(START), eq(START.plusHours(1)), any(), any()))
+                .thenReturn(List.of(room));
+
+        var result = availabilityManagement.searchAvailableRooms("STUDY_ROOM", " ", START, START.plusHours(1), 10);
+
+        assertThat(result).containsExactly(new AvailableRoomDTO(7L, "Quiet Room", "ENG-01-02", "STUDY_ROOM"));
+    }
+
+    @Test
+    void fetchAvailabilityGrid_returnsOneMaskPerRoomAndDay() {
+        var day = START.toLocalDate();
+        var room = new Room(7L, new Room.RoomProfile("Quiet Room", new Room.RoomLocation("ENG-01-02"), "STUDY_ROOM"), "ENABLED");
+        when(roomRepository.findAllById(List.of(7L))).thenReturn(List.of(room));
+        var occupancy = new LinkedHashMap<LocalDate, Map<Long, Long>>();
+        occupancy.put(day, Map.of(7L, SlotBitmap.mask(20, 22)));
+        occupancy.put(day.plusDays(1), Map.of());
+        when(availabilityGrid.occupancy(day, day.plusDays(1))).thenReturn(occupancy);
+
+        var grid = availabilityManagement.fetchAvailabilityGrid(day, day.plusDays(1), List.of(7L));
+
+        assertThat(grid.slotMinutes()).isEqualTo(30);
+        assertThat(grid.rooms()).containsExactly(
+                new AvailabilityGridDTO.RoomSlotsDTO(7L, "ENABLED", List.of(SlotBitmap.mask(20, 22), 0L))
+        );
+    }
+
+    @Test
+    void checkAvailability_resolvesBatchWithTwoQueries_inRequestOrder() {
+        var enabled = new Room(7L, new Room.RoomProfile("Quiet Room", new Room.RoomLocation("ENG-01-02"), "STUDY_ROOM"), "ENABLED");
+        var disabled = new Room(8L, new Room.RoomProfile("Old Room", new Room.RoomLocation("ENG-01-03"), "STUDY_ROOM"), "DISABLED");
+        when(roomRepository.findAllById(List.of(7L, 8L, 9L))).thenReturn(List.of(enabled, disabled));
+        when(bookingRepository.findOverlapping(any())).thenReturn(Set.of(1));
+
+        var end = START.plusHours(1);
+        var results = availabilityManagement.checkAvailability(List.of(
+                new AvailabilityQuery(7L, START, end),
+                new AvailabilityQuery(7L, START.plusHours(2), START.plusHours(3)),
+                new AvailabilityQuery(8L, START, end),
+                new AvailabilityQuery(9L, START, end),
+                new AvailabilityQuery(7L, START.plusHours(4), START.plusHours(5))
+        ));
+
+        assertThat(results).extracting(RoomAvailabilityDTO::status)
+                .containsExactly("AVAILABLE", "UNAVAILABLE", "UNAVAILABLE", "ROOM_NOT_FOUND", "AVAILABLE");
+        verify(bookingRepository).findOverlapping(any());
+    }
+
+    @Test
+    void checkAvailability_reportsPositionOfInvalidQuery() {
+        assertThatThrownBy(() -> availabilityManagement.checkAvailability(List.of(
+                new AvailabilityQuery(7L, START, START.plusHours(1)),
+                new AvailabilityQuery(7L, START, START.plusMinutes(10))
+        )))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("queries[1]");
+    }
+
+    @Test
+    void findNextFreeSlots_scansAroundBlockingBookings() {
+        var room = new Room(7L, new Room.RoomProfile("Quiet Room", new Room.RoomLocation("ENG-01-02"), "STUDY_ROOM"), "ENABLED");
+        when(roomRepository.findById(7L)).thenReturn(Optional.of(room));
+        when(occupancyIndex.blockingRanges(7L, START, START.plusHours(4)))
+                .thenReturn(Optional.of(List.of(new Booking.TimeRange(START.plusMinutes(30), START.plusMinutes(90)))));
+
+        var free = availabilityManagement.findNextFreeSlots(7L, 60, START, Duration.ofHours(4), 3);
+
+        assertThat(free).extracting(RoomAvailabilityDTO::startTime).containsExactly(
+                START.plusMinutes(90), START.plusMinutes(120), START.plusMinutes(150)
+        );
+        assertThat(free).allSatisfy(slot -> assertThat(slot.endTime()).isEqualTo(slot.startTime().plusMinutes(60)));
+    }
+
+    @Test
+    void findNextFreeSlots_rejectsDurationOutsideBookingRules() {
+        assertThatThrownBy(() -> availabilityManagement.findNextFreeSlots(7L, 150, START, Duration.ofHours(4), 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> availabilityManagement.findNextFreeSlots(7L, 45, START, Duration.ofHours(4), 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void searchAvailableRooms_rejectsMissingTypeAndOversizedLimit() {
+        assertThatThrownBy(() -> availabilityManagement.searchAvailableRooms(" ", null, START, START.plusHours(1), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> availabilityManagement.searchAvailableRooms("STUDY_ROOM", null, START, START.plusHours(1), 5000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
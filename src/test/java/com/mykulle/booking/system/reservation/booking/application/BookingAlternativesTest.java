@@ -0,0 +1,66 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.application.RoomOccupancyIndex.Occupancy;
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAlternativesTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    private static final Booking.TimeRange REQUESTED = new Booking.TimeRange(START, START.plusHours(1));
+
+    @Mock
+    private RoomOccupancyIndex occupancyIndex;
+
+    private BookingAlternatives alternatives;
+
+    @BeforeEach
+    void setUp() {
+        alternatives = new BookingAlternatives(occupancyIndex, 3);
+    }
+
+    @Test
+    void suggest_mixesNearbySlotsOfSameRoomWithOtherRoomsInBuilding() {
+        var room = new AvailableRoomDTO(5L, "Focus Room", "LIB-03-12", "STUDY_ROOM");
+        when(occupancyIndex.findRoom(5L)).thenReturn(Optional.of(room));
+        when(occupancyIndex.lookup(eq(5L), any())).thenAnswer(call -> {
+            Booking.TimeRange candidate = call.getArgument(1);
+            return Optional.of(candidate.startTime().equals(START.plusMinutes(60)) || candidate.startTime().equals(START.minusMinutes(60))
+                    ? Occupancy.FREE
+                    : Occupancy.OCCUPIED);
+        });
+        when(occupancyIndex.findFreeRoomsNearby(5L, REQUESTED, 3)).thenReturn(Optional.of(List.of(
+                new AvailableRoomDTO(6L, "Quiet Room", "LIB-02-01", "STUDY_ROOM")
+        )));
+
+        var suggested = alternatives.suggest(5L, REQUESTED);
+
+        assertThat(suggested).containsExactly(
+                new BookingAlternativeDTO(5L, "Focus Room", "LIB-03-12", START.plusMinutes(60), START.plusMinutes(120)),
+                new BookingAlternativeDTO(6L, "Quiet Room", "LIB-02-01", START, START.plusHours(1)),
+                new BookingAlternativeDTO(5L, "Focus Room", "LIB-03-12", START.minusMinutes(60), START)
+        );
+    }
+
+    @Test
+    void suggest_isEmpty_whenIndexDoesNotKnowRoom() {
+        when(occupancyIndex.findRoom(5L)).thenReturn(Optional.empty());
+        when(occupancyIndex.findFreeRoomsNearby(5L, REQUESTED, 3)).thenReturn(Optional.empty());
+
+        assertThat(alternatives.suggest(5L, REQUESTED)).isEmpty();
+    }
+}
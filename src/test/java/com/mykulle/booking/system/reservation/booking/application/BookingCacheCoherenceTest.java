@@ -0,0 +1,108 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.reservation.rooms.application.RoomManagement;
+import com.mykulle.booking.system.shared.coherence.CacheCoherence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class BookingCacheCoherenceTest {
+
+    @Mock
+    private CacheCoherence coherence;
+
+    @Mock
+    private AvailabilityGrid availabilityGrid;
+
+    @Mock
+    private RoomOccupancyIndex occupancyIndex;
+
+    @Mock
+    private AvailabilityFeed availabilityFeed;
+
+    @InjectMocks
+    private BookingCacheCoherence bookingCacheCoherence;
+
+    @Test
+    void announce_publishesRoomAndDaysOfBooking() {
+        var start = LocalDateTime.of(2026, 3, 2, 23, 0);
+
+        bookingCacheCoherence.announce(new BookingEvent.BookingCreated(12L, 5L, start, start.plusHours(2), "CONFIRMED"));
+
+        verify(coherence).publish(BookingCacheCoherence.BOOKINGS, "5/2026-03-02/2026-03-03");
+    }
+
+    @Test
+    void announce_publishesEachRoomOnce_beforeTransactionCommits() {
+        var start = LocalDateTime.of(2026, 3, 2, 10, 0);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookingCacheCoherence.announce(new BookingEvent.BookingStatusChanged(1L, 5L, start, start.plusHours(1), "COMPLETED"));
+            bookingCacheCoherence.announce(new BookingEvent.BookingStatusChanged(2L, 5L, start.plusDays(2), start.plusDays(2).plusHours(1), "COMPLETED"));
+            bookingCacheCoherence.announce(new BookingEvent.BookingStatusChanged(3L, 6L, start, start.plusHours(1), "COMPLETED"));
+            verifyNoInteractions(coherence);
+
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(coherence).publish(BookingCacheCoherence.BOOKINGS, "5/2026-03-02/2026-03-04");
+        verify(coherence).publish(BookingCacheCoherence.BOOKINGS, "6/2026-03-02/2026-03-02");
+        verifyNoMoreInteractions(coherence);
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    @Test
+    void evictAll_reloadsEachRoomOnce() {
+        bookingCacheCoherence.evictAll(BookingCacheCoherence.BOOKINGS, List.of("5/2026-03-02/2026-03-02", "5/2026-03-04/2026-03-04"));
+
+        verify(availabilityGrid).evict(LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 2));
+        verify(availabilityGrid).evict(LocalDate.of(2026, 3, 4), LocalDate.of(2026, 3, 4));
+        verify(occupancyIndex).reloadRoom(5L);
+        verify(availabilityFeed).stale(5L);
+    }
+
+    @Test
+    void evict_dropsAnnouncedDays_andReloadsRoom() {
+        bookingCacheCoherence.evict(BookingCacheCoherence.BOOKINGS, "5/2026-03-02/2026-03-03");
+
+        verify(availabilityGrid).evict(LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 3));
+        verify(occupancyIndex).reloadRoom(5L);
+        verify(availabilityFeed).stale(5L);
+    }
+
+    @Test
+    void evict_ofRoomChange_reloadsRoomOnly() {
+        bookingCacheCoherence.evict(RoomManagement.COHERENCE_REGION, "7");
+
+        verify(occupancyIndex).reloadRoom(7L);
+        verify(availabilityGrid, never()).clear();
+    }
+
+    @Test
+    void evict_ofAllKeys_rebuildsEverything() {
+        bookingCacheCoherence.evict(RoomManagement.COHERENCE_REGION, CacheCoherence.ALL);
+
+        verify(availabilityGrid).clear();
+        verify(occupancyIndex).load();
+    }
+}
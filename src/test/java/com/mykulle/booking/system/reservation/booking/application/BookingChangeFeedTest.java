@@ -0,0 +1,82 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingChange;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingChangeFeedTest {
+
+    private static final LocalDateTime CHANGED = LocalDateTime.of(2026, 3, 2, 9, 15, 30, 123_456_000);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingMapper mapper;
+
+    private BookingChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new BookingChangeFeed(bookingRepository, mapper);
+    }
+
+    @Test
+    void fetchChanges_returnsPageAndCursorOfLastChange() {
+        var rows = List.of(change(11L, CHANGED), change(12L, CHANGED), change(13L, CHANGED.plusSeconds(1)));
+        when(bookingRepository.findChangesAfter(eq(null), eq(0L), any(), eq(5L), any())).thenReturn(rows);
+        when(mapper.toDTO(any(BookingChange.class))).thenAnswer(call -> {
+            BookingChange row = call.getArgument(0);
+            return new BookingChangeDTO(row.id(), row.roomId(), row.startTime(), row.endTime(), row.status().name(), row.version(), row.lastModifiedAt());
+        });
+
+        var page = feed.fetchChanges(5L, null, 2);
+
+        assertThat(page.changes()).extracting(BookingChangeDTO::id).containsExactly(11L, 12L);
+        assertThat(page.hasMore()).isTrue();
+        assertThat(page.nextCursor()).isEqualTo("2026-03-02T09:15:30.123456_12");
+    }
+
+    @Test
+    void fetchChanges_resumesAfterCursor_andOnlyReadsChangesBeforeWatermark() {
+        var watermark = CHANGED.plusMinutes(1);
+        when(bookingRepository.findChangeWatermark()).thenReturn(watermark);
+        when(bookingRepository.findChangesAfter(any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        var page = feed.fetchChanges(null, "2026-03-02T09:15:30.123456_12", null);
+
+        verify(bookingRepository).findChangesAfter(eq(CHANGED), eq(12L), eq(watermark), eq(null), any());
+        assertThat(page.changes()).isEmpty();
+        assertThat(page.nextCursor()).isEqualTo("2026-03-02T09:15:30.123456_12");
+        assertThat(page.hasMore()).isFalse();
+    }
+
+    @Test
+    void fetchChanges_rejectsMalformedCursorAndOversizedPages() {
+        assertThatThrownBy(() -> feed.fetchChanges(null, "yesterday", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> feed.fetchChanges(null, null, 10_000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static BookingChange change(Long id, LocalDateTime lastModifiedAt) {
+        var start = LocalDateTime.of(2026, 3, 3, 10, 0);
+        return new BookingChange(id, 5L, start, start.plusHours(1), Booking.BookingStatus.CANCELLED, 2L, lastModifiedAt);
+    }
+}
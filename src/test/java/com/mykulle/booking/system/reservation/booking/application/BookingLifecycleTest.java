@@ -0,0 +1,151 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.Booking.BookingStatus;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot;
+import com.mykulle.booking.system.reservation.booking.domain.BookingTransition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingLifecycleTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 12, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private LifecycleCoordinator coordinator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingLifecycle lifecycle;
+
+    @BeforeEach
+    void setUp() {
+        lifecycle = new BookingLifecycle(bookingRepository, events, coordinator, transactionManager, 2);
+        when(coordinator.shards()).thenReturn(LifecycleShards.all());
+    }
+
+    @Test
+    void run_appliesTransitionsToSelectedIds_chunkedById() {
+        when(bookingRepository.findDueByStartTime(eq(BookingStatus.CONFIRMED), eq(NOW), eq(0L), eq(1), eq(Set.of(0)), any()))
+                .thenReturn(List.of(snapshot(1L, BookingStatus.CONFIRMED), snapshot(4L, BookingStatus.CONFIRMED)));
+        when(bookingRepository.findDueByStartTime(eq(BookingStatus.CONFIRMED), eq(NOW), eq(4L), eq(1), eq(Set.of(0)), any()))
+                .thenReturn(List.of(snapshot(9L, BookingStatus.CONFIRMED)));
+        when(bookingRepository.transitionDueByStartTime(List.of(1L, 4L), BookingStatus.CONFIRMED, BookingStatus.CHECK_IN_REQUIRED, NOW))
+                .thenReturn(2);
+        when(bookingRepository.transitionDueByStartTime(List.of(9L), BookingStatus.CONFIRMED, BookingStatus.CHECK_IN_REQUIRED, NOW))
+                .thenReturn(1);
+
+        var graceCutoff = NOW.minusMinutes(BookingLifecycle.CHECK_IN_GRACE_PERIOD_MINUTES);
+        when(bookingRepository.findDueByStartTime(eq(BookingStatus.CHECK_IN_REQUIRED), eq(graceCutoff), eq(0L), eq(1), eq(Set.of(0)), any()))
+                .thenReturn(List.of());
+        when(bookingRepository.findDueByEndTime(eq(BookingStatus.CHECKED_IN), eq(NOW), eq(0L), eq(1), eq(Set.of(0)), any()))
+                .thenReturn(List.of(snapshot(3L, BookingStatus.CHECKED_IN)));
+        when(bookingRepository.transitionDueByEndTime(List.of(3L), BookingStatus.CHECKED_IN, BookingStatus.COMPLETED, NOW))
+                .thenReturn(1);
+
+        var report = lifecycle.run(NOW);
+
+        assertThat(report.count(BookingTransition.REQUIRE_CHECK_IN)).isEqualTo(3);
+        assertThat(report.count(BookingTransition.MARK_NO_SHOW)).isZero();
+        assertThat(report.count(BookingTransition.COMPLETE)).isEqualTo(1);
+        assertThat(report.total()).isEqualTo(4);
+        assertThat(report.duration()).isNotNegative();
+
+        verify(events).publishEvent(new BookingEvent.BookingStatusChanged(
+                9L, 5L, NOW.minusHours(1), NOW.minusMinutes(30), "CHECK_IN_REQUIRED"));
+        verify(events).publishEvent(new BookingEvent.BookingStatusChanged(
+                3L, 5L, NOW.minusHours(1), NOW.minusMinutes(30), "COMPLETED"));
+        verify(bookingRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void run_publishesOnlyBookingsThatMoved_whenRowsChangedConcurrently() {
+        var graceCutoff = NOW.minusMinutes(BookingLifecycle.CHECK_IN_GRACE_PERIOD_MINUTES);
+        when(bookingRepository.findDueByStartTime(eq(BookingStatus.CONFIRMED), eq(NOW), anyLong(), eq(1), eq(Set.of(0)), any()))
+                .thenReturn(List.of());
+        when(bookingRepository.findDueByStartTime(eq(BookingStatus.CHECK_IN_REQUIRED), eq(graceCutoff), eq(0L), eq(1), eq(Set.of(0)), any()))
+                .thenReturn(List.of(snapshot(1L, BookingStatus.CHECK_IN_REQUIRED)));
+        when(bookingRepository.transitionDueByStartTime(List.of(1L), BookingStatus.CHECK_IN_REQUIRED, BookingStatus.NO_SHOW, graceCutoff))
+                .thenReturn(0);
+        when(bookingRepository.findDueByEndTime(eq(BookingStatus.CHECKED_IN), eq(NOW), anyLong(), eq(1), eq(Set.of(0)), any()))
+                .thenReturn(List.of());
+
+        var checkedIn = new Booking(5L, "student-1", new Booking.TimeRange(NOW.plusHours(1), NOW.plusHours(2)));
+        checkedIn.requireCheckIn();
+        checkedIn.checkIn();
+        when(bookingRepository.findAllById(List.of(1L))).thenReturn(List.of(checkedIn));
+
+        var report = lifecycle.run(NOW);
+
+        assertThat(report.total()).isZero();
+        verify(events, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void run_skipsAllWork_whenNoShardIsOwned() {
+        when(coordinator.shards()).thenReturn(new LifecycleShards(4, Set.of()));
+
+        var report = lifecycle.run(NOW);
+
+        assertThat(report.total()).isZero();
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void applyDue_ignoresBookingsOfShardsOwnedElsewhere() {
+        when(coordinator.shards()).thenReturn(new LifecycleShards(2, Set.of(1)));
+        when(bookingRepository.findSnapshotsByIdsAndStatus(List.of(1L), BookingStatus.CONFIRMED))
+                .thenReturn(List.of(new BookingSnapshot(1L, 4L, NOW.minusHours(1), NOW, BookingStatus.CONFIRMED)));
+
+        assertThat(lifecycle.applyDue(BookingTransition.REQUIRE_CHECK_IN, List.of(1L), NOW)).isZero();
+        verify(bookingRepository, never()).transitionDueByStartTime(any(), any(), any(), any());
+    }
+
+    @Test
+    void applyDue_movesOnlyBookingsThatAreDue() {
+        var due = snapshot(1L, BookingStatus.CONFIRMED);
+        var notYetDue = new BookingSnapshot(2L, 5L, NOW.plusMinutes(30), NOW.plusMinutes(60), BookingStatus.CONFIRMED);
+        when(bookingRepository.findSnapshotsByIdsAndStatus(List.of(1L, 2L), BookingStatus.CONFIRMED))
+                .thenReturn(List.of(due, notYetDue));
+        when(bookingRepository.transitionDueByStartTime(List.of(1L), BookingStatus.CONFIRMED, BookingStatus.CHECK_IN_REQUIRED, NOW))
+                .thenReturn(1);
+
+        var moved = lifecycle.applyDue(BookingTransition.REQUIRE_CHECK_IN, List.of(1L, 2L), NOW);
+
+        assertThat(moved).isEqualTo(1);
+        verify(events).publishEvent(new BookingEvent.BookingStatusChanged(
+                1L, 5L, NOW.minusHours(1), NOW.minusMinutes(30), "CHECK_IN_REQUIRED"));
+    }
+
+    private static BookingSnapshot snapshot(Long id, BookingStatus status) {
+        return new BookingSnapshot(id, 5L, NOW.minusHours(1), NOW.minusMinutes(30), status);
+    }
+}
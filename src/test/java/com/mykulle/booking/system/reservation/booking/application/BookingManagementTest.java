@@ -1,7 +1,9 @@
 package com.mykulle.booking.system.reservation.booking.application;
 
 import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
 import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot;
 import com.mykulle.booking.system.reservation.rooms.domain.Room;
 import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
 import com.mykulle.booking.system.useraccount.api.AuthorizationService;
@@ -13,6 +15,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,6 +28,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,52 +49,118 @@ class BookingManagementTest {
     @Mock
     private AuthorizationService authorizationService;
 
+    @Mock
+    private RoomOccupancyIndex occupancyIndex;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private BookingAdmission bookingAdmission;
+
+    @Mock
+    private BookingLifecycle bookingLifecycle;
+
+    @Mock
+    private BookingAlternatives bookingAlternatives;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private BookingManagement bookingManagement;
 
     @Test
-    void createBooking_savesBooking_whenRoomIsAvailable() {
+    void createBooking_admitsBookingForCurrentUser_andPublishesEvent() {
         var start = nextHalfHour(LocalDateTime.now().plusHours(1));
         var end = start.plusMinutes(60);
-        var room = enabledRoom(5L);
         var currentUser = new UserAccount("student-1", "Jane", "Doe", "jane@example.edu", List.of("STUDENT"));
 
+        var expected = new BookingDTO(12L, 5L, start, end, "CONFIRMED");
         when(currentUserProvider.currentUser()).thenReturn(currentUser);
-        when(roomRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(room));
-        when(bookingRepository.existsOverlappingBooking(eq(5L), eq(start), eq(end), any())).thenReturn(false);
-        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0, Booking.class));
-
-        var expected = new BookingDTO(null, 5L, start, end, "CONFIRMED");
-        when(mapper.toDTO(any(Booking.class))).thenReturn(expected);
+        when(bookingAdmission.joinsCallerTransaction()).thenReturn(true);
+        when(bookingAdmission.admit(eq(5L), eq("student-1"), any(Booking.TimeRange.class))).thenReturn(expected);
 
         var result = bookingManagement.createBooking(5L, start, end);
 
         assertThat(result).isEqualTo(expected);
 
-        var bookingCaptor = ArgumentCaptor.forClass(Booking.class);
-        verify(bookingRepository).save(bookingCaptor.capture());
-        var saved = bookingCaptor.getValue();
-        assertThat(saved.getRoomId()).isEqualTo(5L);
-        assertThat(saved.getBookedByUserId()).isEqualTo("student-1");
-        assertThat(saved.getTimeRange().startTime()).isEqualTo(start);
-        assertThat(saved.getTimeRange().endTime()).isEqualTo(end);
-        assertThat(saved.getStatus()).isEqualTo(Booking.BookingStatus.CONFIRMED);
+        var rangeCaptor = ArgumentCaptor.forClass(Booking.TimeRange.class);
+        verify(bookingAdmission).admit(eq(5L), eq("student-1"), rangeCaptor.capture());
+        assertThat(rangeCaptor.getValue().startTime()).isEqualTo(start);
+        assertThat(rangeCaptor.getValue().endTime()).isEqualTo(end);
+        verify(events).publishEvent(new BookingEvent.BookingCreated(12L, 5L, start, end, "CONFIRMED"));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void createBooking_leavesCommitAndEvent_toAdmissionWithItsOwnTransaction() {
+        var start = nextHalfHour(LocalDateTime.now().plusHours(1));
+        var end = start.plusMinutes(60);
+        var currentUser = new UserAccount("student-1", "Jane", "Doe", "jane@example.edu", List.of("STUDENT"));
+
+        var expected = new BookingDTO(12L, 5L, start, end, "CONFIRMED");
+        when(currentUserProvider.currentUser()).thenReturn(currentUser);
+        when(bookingAdmission.joinsCallerTransaction()).thenReturn(false);
+        when(bookingAdmission.admit(eq(5L), eq("student-1"), any(Booking.TimeRange.class))).thenReturn(expected);
+
+        assertThat(bookingManagement.createBooking(5L, start, end)).isEqualTo(expected);
+
+        verifyNoInteractions(transactionManager, events);
     }
 
     @Test
-    void createBooking_throws_whenRoomIsDisabled() {
-        var start = nextHalfHour(LocalDateTime.now().plusHours(2));
+    void createBooking_throws_withoutAdmission_whenIndexKnowsRoomIsOccupied() {
+        var start = nextHalfHour(LocalDateTime.now().plusHours(1));
         var end = start.plusMinutes(60);
         var currentUser = new UserAccount("student-1", "Jane", "Doe", "jane@example.edu", List.of("STUDENT"));
 
         when(currentUserProvider.currentUser()).thenReturn(currentUser);
-        when(roomRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(disabledRoom(5L)));
+        when(occupancyIndex.lookup(eq(5L), any())).thenReturn(Optional.of(RoomOccupancyIndex.Occupancy.OCCUPIED));
+        when(bookingRepository.existsOverlappingBooking(eq(5L), eq(start), eq(end), any())).thenReturn(true);
 
         assertThatThrownBy(() -> bookingManagement.createBooking(5L, start, end))
                 .isInstanceOf(IllegalStateException.class)
-                .hasMessageContaining("disabled room");
+                .hasMessageContaining("not available");
 
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(bookingAdmission, never()).admit(any(), any(), any());
+    }
+
+    @Test
+    void createBooking_admits_whenDatabaseDoesNotConfirmIndexedConflict() {
+        var start = nextHalfHour(LocalDateTime.now().plusHours(1));
+        var end = start.plusMinutes(60);
+        var currentUser = new UserAccount("student-1", "Jane", "Doe", "jane@example.edu", List.of("STUDENT"));
+
+        var expected = new BookingDTO(12L, 5L, start, end, "CONFIRMED");
+        when(currentUserProvider.currentUser()).thenReturn(currentUser);
+        when(occupancyIndex.lookup(eq(5L), any())).thenReturn(Optional.of(RoomOccupancyIndex.Occupancy.OCCUPIED));
+        when(bookingRepository.existsOverlappingBooking(eq(5L), eq(start), eq(end), any())).thenReturn(false);
+        when(bookingAdmission.joinsCallerTransaction()).thenReturn(true);
+        when(bookingAdmission.admit(eq(5L), eq("student-1"), any(Booking.TimeRange.class))).thenReturn(expected);
+
+        assertThat(bookingManagement.createBooking(5L, start, end)).isEqualTo(expected);
+
+        verify(occupancyIndex).reloadRoom(5L);
+    }
+
+    @Test
+    void createBooking_reportsAlternatives_whenAdmissionFindsConflict() {
+        var start = nextHalfHour(LocalDateTime.now().plusHours(1));
+        var end = start.plusMinutes(60);
+        var currentUser = new UserAccount("student-1", "Jane", "Doe", "jane@example.edu", List.of("STUDENT"));
+        var alternative = new BookingAlternativeDTO(6L, "Quiet Room", "LIB-02-01", start, end);
+
+        when(currentUserProvider.currentUser()).thenReturn(currentUser);
+        when(bookingAdmission.joinsCallerTransaction()).thenReturn(true);
+        when(bookingAdmission.admit(eq(5L), eq("student-1"), any())).thenThrow(new BookingConflictException());
+        when(bookingAlternatives.suggest(eq(5L), any())).thenReturn(List.of(alternative));
+
+        assertThatThrownBy(() -> bookingManagement.createBooking(5L, start, end))
+                .isInstanceOfSatisfying(BookingConflictException.class, conflict ->
+                        assertThat(conflict.getAlternatives()).containsExactly(alternative));
+
+        verify(events, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -103,8 +174,7 @@ class BookingManagementTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("must not be in the past");
 
-        verify(roomRepository, never()).findByIdForUpdate(any());
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(bookingAdmission, never()).admit(any(), any(), any());
     }
 
     @Test
@@ -122,43 +192,70 @@ class BookingManagementTest {
     }
 
     @Test
-    void enforceLifecycle_appliesExpectedTransitions() {
-        var now = LocalDateTime.now();
+    void fetchRoomAvailability_answersFromIndex_withoutQueryingDatabase() {
+        var start = LocalDateTime.of(2026, 2, 17, 10, 0);
+        var end = start.plusHours(1);
 
-        var confirmedStart = floorToHalfHour(now.minusHours(1));
-        var confirmed = new Booking(1L, "student-1", new Booking.TimeRange(confirmedStart, confirmedStart.plusMinutes(30)));
+        when(occupancyIndex.lookup(eq(7L), any())).thenReturn(Optional.of(RoomOccupancyIndex.Occupancy.FREE));
 
-        var checkInRequiredStart = floorToHalfHour(now.minusHours(2));
-        var checkInRequired = new Booking(1L, "student-1", new Booking.TimeRange(checkInRequiredStart, checkInRequiredStart.plusMinutes(30)));
-        checkInRequired.requireCheckIn();
+        var result = bookingManagement.fetchRoomAvailability(7L, start, end);
 
-        var checkedInStart = floorToHalfHour(now.minusHours(3));
-        var checkedIn = new Booking(1L, "student-1", new Booking.TimeRange(checkedInStart, checkedInStart.plusMinutes(30)));
-        checkedIn.requireCheckIn();
-        checkedIn.checkIn();
+        assertThat(result.status()).isEqualTo("AVAILABLE");
+        verify(roomRepository, never()).findById(any());
+        verify(bookingRepository, never()).existsOverlappingBooking(any(), any(), any(), any());
+    }
 
-        when(bookingRepository.findByStatusAndTimeRangeStartTimeLessThanEqual(eq(Booking.BookingStatus.CONFIRMED), any(LocalDateTime.class)))
-                .thenReturn(List.of(confirmed));
-        when(bookingRepository.findByStatusAndTimeRangeStartTimeLessThanEqual(eq(Booking.BookingStatus.CHECK_IN_REQUIRED), any(LocalDateTime.class)))
-                .thenReturn(List.of(checkInRequired));
-        when(bookingRepository.findByStatusAndTimeRangeEndTimeLessThanEqual(eq(Booking.BookingStatus.CHECKED_IN), any(LocalDateTime.class)))
-                .thenReturn(List.of(checkedIn));
+    @Test
+    void fetchRoomAvailability_confirmsIndexedConflict_withDatabase() {
+        var start = LocalDateTime.of(2026, 2, 17, 10, 0);
+        var end = start.plusHours(1);
 
-        bookingManagement.enforceLifecycle();
+        when(occupancyIndex.lookup(eq(7L), any())).thenReturn(Optional.of(RoomOccupancyIndex.Occupancy.OCCUPIED));
+        when(roomRepository.findById(7L)).thenReturn(Optional.of(enabledRoom(7L)));
+        when(bookingRepository.existsOverlappingBooking(eq(7L), eq(start), eq(end), any())).thenReturn(false);
 
-        assertThat(confirmed.getStatus()).isEqualTo(Booking.BookingStatus.CHECK_IN_REQUIRED);
-        assertThat(checkInRequired.getStatus()).isEqualTo(Booking.BookingStatus.NO_SHOW);
-        assertThat(checkedIn.getStatus()).isEqualTo(Booking.BookingStatus.COMPLETED);
+        var result = bookingManagement.fetchRoomAvailability(7L, start, end);
 
-        verify(bookingRepository).saveAll(List.of(confirmed));
-        verify(bookingRepository).saveAll(List.of(checkInRequired));
-        verify(bookingRepository).saveAll(List.of(checkedIn));
+        assertThat(result.status()).isEqualTo("AVAILABLE");
+        verify(occupancyIndex).reloadRoom(7L);
     }
 
-    private static LocalDateTime floorToHalfHour(LocalDateTime value) {
-        var sanitized = value.withSecond(0).withNano(0);
-        var alignedMinute = sanitized.getMinute() < 30 ? 0 : 30;
-        return sanitized.withMinute(alignedMinute);
+    @Test
+    void fetchBookings_returnsPageWithCursor_whenMoreBookingsFollow() {
+        var start = nextHalfHour(LocalDateTime.now().plusDays(1));
+        var rows = List.of(
+                new BookingSnapshot(11L, 5L, start, start.plusMinutes(30), Booking.BookingStatus.CONFIRMED),
+                new BookingSnapshot(12L, 5L, start, start.plusMinutes(30), Booking.BookingStatus.CONFIRMED),
+                new BookingSnapshot(13L, 5L, start, start.plusMinutes(30), Booking.BookingStatus.CONFIRMED)
+        );
+        when(bookingRepository.findSnapshotsAfter(eq(10L), eq(null), eq(Booking.BookingStatus.CONFIRMED), eq(null), eq(null), any()))
+                .thenReturn(rows);
+        when(mapper.toDTO(any(BookingSnapshot.class)))
+                .thenAnswer(call -> {
+                    BookingSnapshot row = call.getArgument(0);
+                    return new BookingDTO(row.id(), row.roomId(), row.startTime(), row.endTime(), row.status().name());
+                });
+
+        var page = bookingManagement.fetchBookings(new BookingFilter("confirmed", null, null), 10L, 2);
+
+        assertThat(page.items()).extracting(BookingDTO::id).containsExactly(11L, 12L);
+        assertThat(page.nextCursor()).isEqualTo(12L);
+    }
+
+    @Test
+    void fetchBookings_rejectsUnknownStatusAndOversizedPages() {
+        assertThatThrownBy(() -> bookingManagement.fetchBookings(new BookingFilter("PENDING", null, null), null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bookingManagement.fetchBookings(BookingFilter.none(), null, 10_000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void enforceLifecycle_delegatesToSetBasedLifecycle() {
+        bookingManagement.enforceLifecycle();
+
+        verify(bookingLifecycle).run(any(LocalDateTime.class));
+        verify(bookingRepository, never()).saveAll(any());
     }
 
     private static LocalDateTime nextHalfHour(LocalDateTime value) {
@@ -176,19 +273,19 @@ class BookingManagementTest {
         return normalized.plusHours(1).withMinute(0);
     }
 
+    private static Room disabledRoom(Long roomId) {
+        return room(roomId, "DISABLED");
+    }
+
     private static Room enabledRoom(Long roomId) {
-        return new Room(
-                roomId,
-                new Room.RoomProfile("Focus Room", new Room.RoomLocation("LIB-03-12"), "STUDY_ROOM"),
-                "ENABLED"
-        );
+        return room(roomId, "ENABLED");
     }
 
-    private static Room disabledRoom(Long roomId) {
+    private static Room room(Long roomId, String status) {
         return new Room(
                 roomId,
                 new Room.RoomProfile("Focus Room", new Room.RoomLocation("LIB-03-12"), "STUDY_ROOM"),
-                "DISABLED"
+                status
         );
     }
 }
@@ -0,0 +1,85 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.useraccount.api.CurrentUserProvider;
+import com.mykulle.booking.system.useraccount.api.UserAccount;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingSeriesManagementTest {
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private BookingAdmission bookingAdmission;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BookingSeriesManagement bookingSeriesManagement;
+
+    @Test
+    void createSeries_admitsAllOccurrences_andPublishesOneEventEach() {
+        var start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        var end = start.plusMinutes(60);
+        var first = new BookingDTO(20L, 5L, start, end, "CONFIRMED");
+        var second = new BookingDTO(21L, 5L, start.plusWeeks(1), end.plusWeeks(1), "CONFIRMED");
+        when(currentUserProvider.currentUser()).thenReturn(staff());
+        when(bookingAdmission.joinsCallerTransaction()).thenReturn(true);
+        when(bookingAdmission.admitSeries(eq(5L), eq("staff-1"), anyList(), any())).thenReturn(List.of(first, second));
+
+        var series = bookingSeriesManagement.createSeries(5L, start, end, new Recurrence(Recurrence.Frequency.WEEKLY, null, 2));
+
+        assertThat(series.seriesId()).isNotNull();
+        assertThat(series.bookings()).containsExactly(first, second);
+        verify(bookingAdmission).admitSeries(eq(5L), eq("staff-1"), eq(List.of(
+                new Booking.TimeRange(start, end),
+                new Booking.TimeRange(start.plusWeeks(1), end.plusWeeks(1))
+        )), eq(series.seriesId()));
+        verify(events).publishEvent(new BookingEvent.BookingCreated(20L, 5L, start, end, "CONFIRMED"));
+        verify(events).publishEvent(new BookingEvent.BookingCreated(21L, 5L, start.plusWeeks(1), end.plusWeeks(1), "CONFIRMED"));
+    }
+
+    @Test
+    void createSeries_publishesNothing_whenAdmissionRejectsSeries() {
+        var start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        when(currentUserProvider.currentUser()).thenReturn(staff());
+        when(bookingAdmission.joinsCallerTransaction()).thenReturn(true);
+        when(bookingAdmission.admitSeries(any(), any(), anyList(), any()))
+                .thenThrow(BookingConflictException.forOccurrences(List.of(start)));
+
+        assertThatThrownBy(() -> bookingSeriesManagement.createSeries(
+                5L, start, start.plusMinutes(60), new Recurrence(Recurrence.Frequency.DAILY, null, 3)))
+                .isInstanceOf(BookingConflictException.class);
+
+        verify(events, never()).publishEvent(any(Object.class));
+    }
+
+    private static UserAccount staff() {
+        return new UserAccount("staff-1", "Sam", "Lee", "sam@example.edu", List.of("STAFF"));
+    }
+}
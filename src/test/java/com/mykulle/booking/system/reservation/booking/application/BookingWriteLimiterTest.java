@@ -0,0 +1,77 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingWriteLimiterTest {
+
+    @Test
+    void writeBeyondLimit_isShedWithRetryAfter() {
+        var limiter = limiter(2, 2, 2, 2);
+
+        assertThatThrownBy(() -> limiter.execute(1L, () -> limiter.execute(2L, () -> limiter.execute(3L, () -> "booked"))))
+                .isInstanceOfSatisfying(BookingOverloadedException.class, ex ->
+                        assertThat(ex.getRetryAfter()).hasSeconds(1));
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void hotRoom_isCappedAtItsMaximumInFlight() {
+        var limiter = limiter(8, 8, 8, 2);
+
+        var other = limiter.execute(1L, () -> limiter.execute(1L, () -> limiter.execute(2L, () -> "booked")));
+        assertThat(other).isEqualTo("booked");
+
+        assertThatThrownBy(() -> limiter.execute(1L, () -> limiter.execute(1L, () -> limiter.execute(1L, () -> "booked"))))
+                .isInstanceOf(BookingOverloadedException.class)
+                .hasMessageContaining("this room");
+    }
+
+    @Test
+    void timedOutWrite_cutsLimit() {
+        var limiter = limiter(10, 1, 10, 2);
+
+        assertThatThrownBy(() -> limiter.execute(1L, () -> {
+            throw new QueryTimeoutException("lock wait timed out");
+        })).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(limiter.limit()).isEqualTo(9);
+    }
+
+    @Test
+    void timedOutWrite_queuedBehindItsRoom_leavesLimitAlone() {
+        var limiter = limiter(10, 1, 10, 2);
+
+        var outcome = limiter.execute(1L, () -> {
+            try {
+                return limiter.execute(1L, () -> {
+                    throw new QueryTimeoutException("lock wait timed out");
+                });
+            } catch (QueryTimeoutException e) {
+                return "retried later";
+            }
+        });
+
+        assertThat(outcome).isEqualTo("retried later");
+        assertThat(limiter.limit()).isEqualTo(10);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void fastWritesAtTheLimit_raiseIt() {
+        var limiter = limiter(2, 1, 10, 2);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.execute(1L, () -> limiter.execute(2L, () -> "booked"));
+        }
+
+        assertThat(limiter.limit()).isGreaterThan(2);
+    }
+
+    private static BookingWriteLimiter limiter(int initial, int min, int max, int perRoom) {
+        return new BookingWriteLimiter(true, initial, min, max, 60_000, 0.9, perRoom, 1);
+    }
+}
@@ -0,0 +1,107 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.LifecycleLeaseRepository;
+import com.mykulle.booking.system.reservation.booking.domain.LifecycleMemberRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LifecycleCoordinatorTest {
+
+    @Mock
+    private LifecycleLeaseRepository leaseRepository;
+
+    @Mock
+    private LifecycleMemberRepository memberRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shards_coverEverything_whenLeasesAreDisabled() {
+        var coordinator = new LifecycleCoordinator(leaseRepository, memberRepository, transactionManager, false, 16, 30_000);
+
+        coordinator.renew();
+
+        assertThat(coordinator.shards()).isEqualTo(LifecycleShards.all());
+        verifyNoInteractions(leaseRepository, memberRepository);
+    }
+
+    @Test
+    void renew_takesFairShareOfShards() {
+        var coordinator = new LifecycleCoordinator(leaseRepository, memberRepository, transactionManager, true, 4, 30_000);
+        when(memberRepository.countLive(any())).thenReturn(2L);
+        when(leaseRepository.acquire(anyInt(), anyString(), any(), any())).thenReturn(1);
+
+        coordinator.renew();
+
+        var shards = coordinator.shards();
+        assertThat(shards.count()).isEqualTo(4);
+        assertThat(shards.owned()).hasSize(2);
+    }
+
+    @Test
+    void renew_handsSurplusToOwnerThatJoinsLater() {
+        var leases = new HashMap<Integer, String>();
+        var members = new HashSet<String>();
+        when(memberRepository.heartbeat(anyString(), any())).thenAnswer(call -> {
+            members.add(call.getArgument(0));
+            return 1;
+        });
+        when(memberRepository.countLive(any())).thenAnswer(call -> (long) members.size());
+        when(leaseRepository.acquire(anyInt(), anyString(), any(), any())).thenAnswer(call -> {
+            Integer shard = call.getArgument(0);
+            String owner = call.getArgument(1);
+            var holder = leases.get(shard);
+            if (holder != null && !holder.equals(owner)) {
+                return 0;
+            }
+            leases.put(shard, owner);
+            return 1;
+        });
+        when(leaseRepository.release(anyCollection(), anyString(), any())).thenAnswer(call -> {
+            Collection<Integer> shards = call.getArgument(0);
+            String owner = call.getArgument(1);
+            shards.forEach(shard -> leases.remove(shard, owner));
+            return shards.size();
+        });
+        var first = new LifecycleCoordinator(leaseRepository, memberRepository, transactionManager, true, 4, 30_000);
+        var second = new LifecycleCoordinator(leaseRepository, memberRepository, transactionManager, true, 4, 30_000);
+
+        first.renew();
+        assertThat(first.shards().owned()).hasSize(4);
+
+        second.renew();
+        assertThat(second.shards().owned()).isEmpty();
+
+        first.renew();
+        second.renew();
+
+        assertThat(first.shards().owned()).hasSize(2);
+        assertThat(second.shards().owned()).hasSize(2);
+        assertThat(first.shards().owned()).doesNotContainAnyElementsOf(second.shards().owned());
+    }
+
+    @Test
+    void shards_isEmpty_beforeFirstRenewal() {
+        var coordinator = new LifecycleCoordinator(leaseRepository, memberRepository, transactionManager, true, 4, 30_000);
+
+        assertThat(coordinator.shards().owned()).isEqualTo(Set.of());
+    }
+}
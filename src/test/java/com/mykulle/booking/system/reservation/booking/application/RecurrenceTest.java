@@ -0,0 +1,48 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 2, 17, 10, 0);
+    private static final Booking.TimeRange FIRST = new Booking.TimeRange(START, START.plusMinutes(90));
+
+    @Test
+    void expand_repeatsWeekly_untilEndDateInclusive() {
+        var recurrence = new Recurrence(Recurrence.Frequency.WEEKLY, LocalDate.of(2026, 3, 3), null);
+
+        var occurrences = recurrence.expand(FIRST);
+
+        assertThat(occurrences).extracting(Booking.TimeRange::startTime)
+                .containsExactly(START, START.plusWeeks(1), START.plusWeeks(2));
+        assertThat(occurrences.getLast().endTime()).isEqualTo(START.plusWeeks(2).plusMinutes(90));
+    }
+
+    @Test
+    void expand_repeatsDaily_countTimes() {
+        var occurrences = new Recurrence(Recurrence.Frequency.DAILY, null, 4).expand(FIRST);
+
+        assertThat(occurrences).hasSize(4);
+        assertThat(occurrences.getLast().startTime()).isEqualTo(START.plusDays(3));
+    }
+
+    @Test
+    void rejectsAmbiguousOrOversizedSeries() {
+        assertThatThrownBy(() -> new Recurrence(Recurrence.Frequency.DAILY, LocalDate.of(2026, 3, 1), 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Recurrence(Recurrence.Frequency.DAILY, null, Recurrence.MAX_OCCURRENCES + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Recurrence(Recurrence.Frequency.DAILY, LocalDate.of(2027, 6, 1), null).expand(FIRST))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at most");
+        assertThatThrownBy(() -> Recurrence.Frequency.from("monthly"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
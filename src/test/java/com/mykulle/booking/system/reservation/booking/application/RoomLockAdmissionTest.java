@@ -0,0 +1,130 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.rooms.domain.Room;
+import com.mykulle.booking.system.reservation.rooms.domain.RoomDayLock;
+import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomLockAdmissionTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 2, 17, 10, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomDayLock roomDayLock;
+
+    @Mock
+    private BookingMapper mapper;
+
+    private RoomLockAdmission admission;
+
+    @BeforeEach
+    void setUp() {
+        admission = roomLockAdmission("room");
+    }
+
+    @Test
+    void admit_savesBooking_whenRoomIsAvailable() {
+        var end = START.plusMinutes(60);
+
+        when(roomRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(room(5L, "ENABLED")));
+        when(bookingRepository.existsOverlappingBooking(eq(5L), eq(START), eq(end), any())).thenReturn(false);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0, Booking.class));
+
+        var expected = new BookingDTO(null, 5L, START, end, "CONFIRMED");
+        when(mapper.toDTO(any(Booking.class))).thenReturn(expected);
+
+        var result = admission.admit(5L, "student-1", new Booking.TimeRange(START, end));
+
+        assertThat(result).isEqualTo(expected);
+
+        var bookingCaptor = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingRepository).save(bookingCaptor.capture());
+        var saved = bookingCaptor.getValue();
+        assertThat(saved.getRoomId()).isEqualTo(5L);
+        assertThat(saved.getBookedByUserId()).isEqualTo("student-1");
+        assertThat(saved.getTimeRange().startTime()).isEqualTo(START);
+        assertThat(saved.getTimeRange().endTime()).isEqualTo(end);
+        assertThat(saved.getStatus()).isEqualTo(Booking.BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void admit_throws_whenRoomIsDisabled() {
+        when(roomRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(room(5L, "DISABLED")));
+
+        assertThatThrownBy(() -> admission.admit(5L, "student-1", new Booking.TimeRange(START, START.plusMinutes(60))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("disabled room");
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void admit_throws_whenRangeOverlapsBlockingBooking() {
+        var end = START.plusMinutes(60);
+
+        when(roomRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(room(5L, "ENABLED")));
+        when(bookingRepository.existsOverlappingBooking(eq(5L), eq(START), eq(end), any())).thenReturn(true);
+
+        assertThatThrownBy(() -> admission.admit(5L, "student-1", new Booking.TimeRange(START, end)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not available");
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void admit_locksOnlyTouchedRoomDays_inAscendingOrder_whenGranularityIsRoomDay() {
+        var admission = roomLockAdmission("room-day");
+        var start = START.withHour(23);
+        var end = start.plusMinutes(90);
+
+        when(roomRepository.findById(5L)).thenReturn(Optional.of(room(5L, "ENABLED")));
+        when(bookingRepository.existsOverlappingBooking(eq(5L), eq(start), eq(end), any())).thenReturn(false);
+
+        admission.admit(5L, "student-1", new Booking.TimeRange(start, end));
+
+        InOrder inOrder = inOrder(roomDayLock);
+        inOrder.verify(roomDayLock).acquire(5L, start.toLocalDate());
+        inOrder.verify(roomDayLock).acquire(5L, start.toLocalDate().plusDays(1));
+        verify(roomRepository, never()).findByIdForUpdate(any());
+    }
+
+    private RoomLockAdmission roomLockAdmission(String granularity) {
+        return new RoomLockAdmission(bookingRepository, roomRepository, roomDayLock, mapper, granularity);
+    }
+
+    private static Room room(Long roomId, String status) {
+        return new Room(
+                roomId,
+                new Room.RoomProfile("Focus Room", new Room.RoomLocation("LIB-03-12"), "STUDY_ROOM"),
+                status
+        );
+    }
+}
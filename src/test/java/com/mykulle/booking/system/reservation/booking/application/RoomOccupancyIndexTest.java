@@ -0,0 +1,182 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.catalog.RoomCatalogEvent;
+import com.mykulle.booking.system.reservation.booking.application.RoomOccupancyIndex.Occupancy;
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot;
+import com.mykulle.booking.system.reservation.rooms.domain.Room;
+import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomOccupancyIndexTest {
+
+    private static final LocalDateTime TOMORROW_TEN = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @InjectMocks
+    private RoomOccupancyIndex index;
+
+    @Test
+    void lookup_isEmpty_beforeIndexIsLoaded() {
+        assertThat(index.lookup(5L, range(TOMORROW_TEN, 60))).isEmpty();
+    }
+
+    @Test
+    void lookup_reportsOverlap_withLoadedBookings() {
+        load(List.of(room(5L, "ENABLED")), List.of(
+                new BookingSnapshot(1L, 5L, TOMORROW_TEN, TOMORROW_TEN.plusMinutes(120), Booking.BookingStatus.CONFIRMED)
+        ));
+
+        assertThat(index.lookup(5L, range(TOMORROW_TEN.plusMinutes(90), 60))).contains(Occupancy.OCCUPIED);
+        assertThat(index.lookup(5L, range(TOMORROW_TEN.minusMinutes(60), 60))).contains(Occupancy.FREE);
+        assertThat(index.lookup(5L, range(TOMORROW_TEN.plusMinutes(120), 30))).contains(Occupancy.FREE);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void lookup_reportsDisabledRoom_andMissesUnknownRoomsAndPastRanges() {
+        load(List.of(room(5L, "DISABLED")), List.of());
+
+        assertThat(index.lookup(5L, range(TOMORROW_TEN, 60))).contains(Occupancy.ROOM_DISABLED);
+        assertThat(index.lookup(99L, range(TOMORROW_TEN, 60))).isEmpty();
+        assertThat(index.lookup(5L, range(TOMORROW_TEN.minusDays(3), 60))).isEmpty();
+    }
+
+    @Test
+    void bookingEvents_occupyAndReleaseSlots() {
+        load(List.of(room(5L, "ENABLED")), List.of());
+
+        index.on(new BookingEvent.BookingCreated(7L, 5L, TOMORROW_TEN, TOMORROW_TEN.plusMinutes(60), "CONFIRMED"));
+        assertThat(index.lookup(5L, range(TOMORROW_TEN, 30))).contains(Occupancy.OCCUPIED);
+
+        index.on(new BookingEvent.BookingStatusChanged(7L, 5L, TOMORROW_TEN, TOMORROW_TEN.plusMinutes(60), "CANCELLED"));
+        assertThat(index.lookup(5L, range(TOMORROW_TEN, 30))).contains(Occupancy.FREE);
+    }
+
+    @Test
+    void catalogEvents_updateRoomStatus() {
+        load(List.of(room(5L, "ENABLED")), List.of());
+
+        index.on(new RoomCatalogEvent.RoomOperationalStatusChanged(5L, "DISABLED"));
+        assertThat(index.lookup(5L, range(TOMORROW_TEN, 30))).contains(Occupancy.ROOM_DISABLED);
+
+        index.on(new RoomCatalogEvent.RoomRemovedFromCatalog(5L));
+        assertThat(index.lookup(5L, range(TOMORROW_TEN, 30))).isEmpty();
+    }
+
+    @Test
+    void reload_dropsBookingsAndRoomsRemovedElsewhere() {
+        load(List.of(room(5L, "ENABLED"), room(6L, "ENABLED")), List.of(
+                new BookingSnapshot(1L, 5L, TOMORROW_TEN, TOMORROW_TEN.plusMinutes(60), Booking.BookingStatus.CONFIRMED)
+        ));
+        assertThat(index.lookup(5L, range(TOMORROW_TEN, 30))).contains(Occupancy.OCCUPIED);
+
+        load(List.of(room(5L, "ENABLED")), List.of());
+
+        assertThat(index.lookup(5L, range(TOMORROW_TEN, 30))).contains(Occupancy.FREE);
+        assertThat(index.lookup(6L, range(TOMORROW_TEN, 30))).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void load_replaysBookingEventsReceivedWhileReading() {
+        when(roomRepository.findAll()).thenReturn(List.of(room(5L, "ENABLED")));
+        when(bookingRepository.findSnapshotsEndingAfter(any(), any())).thenAnswer(call -> {
+            index.on(new BookingEvent.BookingStatusChanged(1L, 5L, TOMORROW_TEN, TOMORROW_TEN.plusMinutes(60), "CANCELLED"));
+            index.on(new BookingEvent.BookingCreated(2L, 5L, TOMORROW_TEN.plusMinutes(120), TOMORROW_TEN.plusMinutes(180), "CONFIRMED"));
+            return List.of(new BookingSnapshot(1L, 5L, TOMORROW_TEN, TOMORROW_TEN.plusMinutes(60), Booking.BookingStatus.CONFIRMED));
+        });
+
+        index.load();
+
+        assertThat(index.lookup(5L, range(TOMORROW_TEN, 30))).contains(Occupancy.FREE);
+        assertThat(index.lookup(5L, range(TOMORROW_TEN.plusMinutes(120), 30))).contains(Occupancy.OCCUPIED);
+    }
+
+    @Test
+    void reloadRoom_keepsBookingEventsReceivedWhileReading() {
+        load(List.of(room(5L, "ENABLED")), List.of());
+        when(roomRepository.findById(5L)).thenReturn(Optional.of(room(5L, "ENABLED")));
+        when(bookingRepository.findRoomSnapshotsEndingAfter(eq(5L), any(), any())).thenAnswer(call -> {
+            index.on(new BookingEvent.BookingCreated(2L, 5L, TOMORROW_TEN, TOMORROW_TEN.plusMinutes(60), "CONFIRMED"));
+            return List.of();
+        });
+
+        index.reloadRoom(5L);
+
+        assertThat(index.lookup(5L, range(TOMORROW_TEN, 30))).contains(Occupancy.OCCUPIED);
+    }
+
+    @Test
+    void findFreeRooms_returnsEnabledMatchingRoomsWithoutOverlap() {
+        load(
+                List.of(room(5L, "ENABLED"), room(6L, "ENABLED"), room(7L, "DISABLED")),
+                List.of(new BookingSnapshot(1L, 6L, TOMORROW_TEN, TOMORROW_TEN.plusMinutes(60), Booking.BookingStatus.CONFIRMED))
+        );
+
+        var free = index.findFreeRooms("STUDY_ROOM", "LIB-03", range(TOMORROW_TEN, 30), 10);
+
+        assertThat(free).hasValueSatisfying(rooms ->
+                assertThat(rooms).extracting(AvailableRoomDTO::roomId).containsExactly(5L));
+        assertThat(index.findFreeRooms("STUDY_ROOM", "ENG", range(TOMORROW_TEN, 30), 10)).contains(List.of());
+        assertThat(index.findFreeRooms("STUDY_ROOM", null, range(TOMORROW_TEN.minusDays(3), 30), 10)).isEmpty();
+    }
+
+    @Test
+    void findFreeRoomsNearby_matchesWholeBuilding_notLocationPrefix() {
+        load(List.of(
+                room(5L, "LIB-03-12", "ENABLED"),
+                room(6L, "lib-01-02", "ENABLED"),
+                room(7L, "LIBRARY-01-01", "ENABLED"),
+                room(8L, "ENG-01-01", "ENABLED")
+        ), List.of());
+
+        var nearby = index.findFreeRoomsNearby(5L, range(TOMORROW_TEN, 30), 10);
+
+        assertThat(nearby).hasValueSatisfying(rooms ->
+                assertThat(rooms).extracting(AvailableRoomDTO::roomId).containsExactly(6L));
+    }
+
+    private void load(List<Room> rooms, List<BookingSnapshot> bookings) {
+        when(roomRepository.findAll()).thenReturn(rooms);
+        when(bookingRepository.findSnapshotsEndingAfter(any(), any())).thenReturn(bookings);
+        index.load();
+    }
+
+    private static Booking.TimeRange range(LocalDateTime start, long minutes) {
+        return new Booking.TimeRange(start, start.plusMinutes(minutes));
+    }
+
+    private static Room room(Long roomId, String status) {
+        return room(roomId, "LIB-03-12", status);
+    }
+
+    private static Room room(Long roomId, String location, String status) {
+        return new Room(
+                roomId,
+                new Room.RoomProfile("Focus Room", new Room.RoomLocation(location), "STUDY_ROOM"),
+                status
+        );
+    }
+}
@@ -0,0 +1,129 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingInsertions.InsertOutcome;
+import com.mykulle.booking.system.reservation.booking.domain.BookingInsertions.InsertOutcome.Result;
+import com.mykulle.booking.system.reservation.booking.domain.BookingOverlapConstraint;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.rooms.domain.Room;
+import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SingleStatementAdmissionTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 2, 17, 10, 0);
+    private static final Booking.TimeRange RANGE = new Booking.TimeRange(START, START.plusMinutes(60));
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingOverlapConstraint overlapConstraint;
+
+    @InjectMocks
+    private SingleStatementAdmission admission;
+
+    @Test
+    void admit_returnsCreatedBooking() {
+        when(bookingRepository.insertIfAvailable(eq(5L), eq("student-1"), any()))
+                .thenReturn(new InsertOutcome(Result.CREATED, 42L));
+
+        var result = admission.admit(5L, "student-1", RANGE);
+
+        assertThat(result).isEqualTo(new BookingDTO(42L, 5L, RANGE.startTime(), RANGE.endTime(), "CONFIRMED"));
+    }
+
+    @Test
+    void admit_mapsOutcomesToErrors() {
+        when(bookingRepository.insertIfAvailable(eq(5L), eq("student-1"), any()))
+                .thenReturn(new InsertOutcome(Result.ROOM_NOT_FOUND, null))
+                .thenReturn(new InsertOutcome(Result.ROOM_DISABLED, null))
+                .thenReturn(new InsertOutcome(Result.CONFLICT, null));
+
+        assertThatThrownBy(() -> admission.admit(5L, "student-1", RANGE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Room not found");
+        assertThatThrownBy(() -> admission.admit(5L, "student-1", RANGE))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("disabled room");
+        assertThatThrownBy(() -> admission.admit(5L, "student-1", RANGE))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not available");
+    }
+
+    @Test
+    void admit_reportsConflict_whenConstraintRejectsConcurrentInsert() {
+        when(bookingRepository.insertIfAvailable(eq(5L), eq("student-1"), any()))
+                .thenThrow(new DataIntegrityViolationException("violates exclusion constraint \"bookings_no_overlap\""));
+
+        assertThatThrownBy(() -> admission.admit(5L, "student-1", RANGE))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not available");
+    }
+
+    @Test
+    void admitSeries_insertsAllOccurrencesAsOneBatch() {
+        var occurrences = List.of(RANGE, shiftedWeeks(1));
+        var seriesId = UUID.randomUUID();
+        when(roomRepository.findById(5L)).thenReturn(Optional.of(room("ENABLED")));
+        when(bookingRepository.findOverlapping(any())).thenReturn(Set.of());
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var result = admission.admitSeries(5L, "student-1", occurrences, seriesId);
+
+        assertThat(result).extracting(BookingDTO::startTime).containsExactly(START, START.plusWeeks(1));
+        ArgumentCaptor<List<Booking>> saved = ArgumentCaptor.captor();
+        verify(bookingRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(Booking::getSeriesId).containsOnly(seriesId);
+    }
+
+    @Test
+    void admitSeries_reportsConflictingOccurrences_withoutInserting() {
+        var occurrences = List.of(RANGE, shiftedWeeks(1), shiftedWeeks(2));
+        when(roomRepository.findById(5L)).thenReturn(Optional.of(room("ENABLED")));
+        when(bookingRepository.findOverlapping(any())).thenReturn(Set.of(2, 1));
+
+        assertThatThrownBy(() -> admission.admitSeries(5L, "student-1", occurrences, UUID.randomUUID()))
+                .isInstanceOf(BookingConflictException.class)
+                .hasMessageContaining(START.plusWeeks(1) + ", " + START.plusWeeks(2));
+
+        verify(bookingRepository, never()).saveAll(anyList());
+    }
+
+    private static Booking.TimeRange shiftedWeeks(int weeks) {
+        return new Booking.TimeRange(RANGE.startTime().plusWeeks(weeks), RANGE.endTime().plusWeeks(weeks));
+    }
+
+    private static Room room(String status) {
+        return new Room(
+                5L,
+                new Room.RoomProfile("Focus Room", new Room.RoomLocation("LIB-03-12"), "STUDY_ROOM"),
+                status
+        );
+    }
+}
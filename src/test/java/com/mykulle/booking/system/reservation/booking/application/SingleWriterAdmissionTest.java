@@ -0,0 +1,174 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot;
+import com.mykulle.booking.system.reservation.rooms.domain.Room;
+import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SingleWriterAdmissionTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SingleWriterAdmission admission;
+
+    @BeforeEach
+    void setUp() {
+        admission = new SingleWriterAdmission(bookingRepository, roomRepository, events, transactionManager, 4, 100, 50, 1000);
+    }
+
+    @Test
+    void process_admitsFirstComeFirstServed_andInsertsAcceptedBookingsTogether() {
+        when(roomRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(room(5L, "ENABLED")));
+        when(bookingRepository.findRoomSnapshotsBetween(eq(5L), any(), any(), any())).thenReturn(List.of(
+                new BookingSnapshot(1L, 5L, START, START.plusHours(1), Booking.BookingStatus.CONFIRMED)
+        ));
+        var first = request(5L, START.plusHours(1));
+        var second = request(5L, START.plusHours(1));
+        var third = request(5L, START.plusHours(2));
+        var clashingWithStored = request(5L, START);
+
+        admission.process(List.of(first, second, third, clashingWithStored));
+
+        assertThat(first.result()).isCompleted();
+        assertThat(second.result()).isCompletedExceptionally();
+        assertThat(third.result()).isCompleted();
+        assertThat(clashingWithStored.result()).isCompletedExceptionally();
+        assertThat(first.result().join().getFirst().startTime()).isEqualTo(START.plusHours(1));
+
+        ArgumentCaptor<List<Booking>> inserted = ArgumentCaptor.captor();
+        verify(bookingRepository).saveAll(inserted.capture());
+        assertThat(inserted.getValue()).extracting(booking -> booking.getTimeRange().startTime())
+                .containsExactly(START.plusHours(1), START.plusHours(2));
+        verify(events, times(2)).publishEvent(any(BookingEvent.BookingCreated.class));
+    }
+
+    @Test
+    void process_rejectsRequestsForUnknownAndDisabledRooms() {
+        when(roomRepository.findByIdForUpdate(5L)).thenReturn(Optional.empty());
+        when(roomRepository.findByIdForUpdate(6L)).thenReturn(Optional.of(room(6L, "DISABLED")));
+        var unknown = request(5L, START);
+        var disabled = request(6L, START);
+
+        admission.process(List.of(unknown, disabled));
+
+        assertThat(unknown.result()).failsWithin(Duration.ZERO)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(disabled.result()).failsWithin(Duration.ZERO)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void process_rejectsWholeSeries_whenOneOccurrenceConflicts() {
+        when(roomRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(room(5L, "ENABLED")));
+        when(bookingRepository.findRoomSnapshotsBetween(eq(5L), any(), any(), any())).thenReturn(List.of());
+        var single = request(5L, START.plusWeeks(1));
+        var series = new SingleWriterAdmission.AdmissionRequest(5L, "staff-1", List.of(
+                new Booking.TimeRange(START, START.plusHours(1)),
+                new Booking.TimeRange(START.plusWeeks(1), START.plusWeeks(1).plusHours(1))
+        ), UUID.randomUUID());
+
+        admission.process(List.of(single, series));
+
+        assertThat(single.result()).isCompleted();
+        assertThat(series.result()).failsWithin(Duration.ZERO)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(BookingConflictException.class)
+                .withMessageContaining(START.plusWeeks(1).toString());
+    }
+
+    @Test
+    void process_skipsRequest_whoseCallerTimedOut() {
+        var request = request(5L, START);
+
+        assertThatThrownBy(() -> request.await(Duration.ofMillis(10)))
+                .isInstanceOf(BookingOverloadedException.class)
+                .hasMessageContaining("timed out");
+        admission.process(List.of(request));
+
+        assertThat(request.claim()).isFalse();
+        verifyNoInteractions(transactionManager, roomRepository, bookingRepository, events);
+    }
+
+    @Test
+    void writer_keepsRunning_afterBatchFailsWithError() {
+        when(roomRepository.findByIdForUpdate(5L))
+                .thenThrow(new NoClassDefFoundError("broken driver"))
+                .thenReturn(Optional.of(room(5L, "ENABLED")));
+        when(bookingRepository.findRoomSnapshotsBetween(eq(5L), any(), any(), any())).thenReturn(List.of());
+        admission.start();
+        try {
+            assertThatThrownBy(() -> admission.admit(5L, "student-1", new Booking.TimeRange(START, START.plusHours(1))))
+                    .hasRootCauseInstanceOf(NoClassDefFoundError.class);
+
+            assertThat(admission.admit(5L, "student-1", new Booking.TimeRange(START, START.plusHours(1))).startTime())
+                    .isEqualTo(START);
+        } finally {
+            admission.destroy();
+        }
+    }
+
+    @Test
+    void await_waitsForWriterOutcome_onceRequestIsClaimed() throws Exception {
+        var request = request(5L, START);
+        var booked = List.of(new BookingDTO(12L, 5L, START, START.plusHours(1), "CONFIRMED"));
+        assertThat(request.claim()).isTrue();
+        CompletableFuture.runAsync(() -> request.result().complete(booked),
+                CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+
+        assertThat(request.await(Duration.ofMillis(10))).isEqualTo(booked);
+        assertThat(request.abandon()).isFalse();
+    }
+
+    private static SingleWriterAdmission.AdmissionRequest request(Long roomId, LocalDateTime start) {
+        return new SingleWriterAdmission.AdmissionRequest(
+                roomId, "student-1", List.of(new Booking.TimeRange(start, start.plusHours(1))), null
+        );
+    }
+
+    private static Room room(Long roomId, String status) {
+        return new Room(roomId, new Room.RoomProfile("Focus Room", new Room.RoomLocation("LIB-03-12"), "STUDY_ROOM"), status);
+    }
+}
@@ -0,0 +1,85 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import com.mykulle.booking.system.reservation.booking.domain.Booking;
+import com.mykulle.booking.system.reservation.booking.domain.BookingEvent;
+import com.mykulle.booking.system.reservation.booking.domain.BookingRepository;
+import com.mykulle.booking.system.reservation.booking.domain.BookingSnapshot;
+import com.mykulle.booking.system.reservation.rooms.domain.Room;
+import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SlotBitmapAdmissionTest {
+
+    private static final LocalDateTime TOMORROW_TEN = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingMapper mapper;
+
+    @InjectMocks
+    private SlotBitmapAdmission admission;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void admit_isShedWithRetryAfter_untilLoaded() {
+        var timeRange = new Booking.TimeRange(TOMORROW_TEN, TOMORROW_TEN.plusMinutes(60));
+
+        assertThatThrownBy(() -> admission.admit(5L, "student-1", timeRange))
+                .isInstanceOfSatisfying(BookingOverloadedException.class, overloaded ->
+                        assertThat(overloaded.getRetryAfter()).isPositive());
+        verifyNoInteractions(roomRepository, bookingRepository);
+    }
+
+    @Test
+    void load_skipsBookingsReleasedWhileReadingSnapshot() {
+        var timeRange = new Booking.TimeRange(TOMORROW_TEN, TOMORROW_TEN.plusMinutes(60));
+        when(bookingRepository.findSnapshotsEndingAfter(any(), any())).thenAnswer(call -> {
+            admission.on(new BookingEvent.BookingStatusChanged(1L, 5L, timeRange.startTime(), timeRange.endTime(), "CANCELLED"));
+            return List.of(new BookingSnapshot(1L, 5L, timeRange.startTime(), timeRange.endTime(), Booking.BookingStatus.CONFIRMED));
+        });
+        admission.load();
+
+        var expected = new BookingDTO(2L, 5L, timeRange.startTime(), timeRange.endTime(), "CONFIRMED");
+        when(roomRepository.findById(5L)).thenReturn(Optional.of(room(5L)));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0, Booking.class));
+        when(mapper.toDTO(any(Booking.class))).thenReturn(expected);
+
+        assertThat(admission.admit(5L, "student-1", timeRange)).isEqualTo(expected);
+    }
+
+    private static Room room(Long roomId) {
+        return new Room(roomId, new Room.RoomProfile("Focus Room", new Room.RoomLocation("LIB-03-12"), "STUDY_ROOM"), "ENABLED");
+    }
+}
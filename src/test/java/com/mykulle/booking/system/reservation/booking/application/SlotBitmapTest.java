@@ -0,0 +1,64 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class SlotBitmapTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 2, 17);
+
+    @Test
+    void masksByDay_setsOneBitPerThirtyMinuteSlot() {
+        var masks = SlotBitmap.masksByDay(DAY.atTime(10, 0), DAY.atTime(11, 30));
+
+        assertThat(masks).containsExactly(entry(DAY, 0b111L << 20));
+    }
+
+    @Test
+    void masksByDay_splitsRangesCrossingMidnight() {
+        var masks = SlotBitmap.masksByDay(DAY.atTime(23, 30), DAY.plusDays(1).atTime(0, 30));
+
+        assertThat(masks).hasSize(2);
+        assertThat(masks.get(DAY)).isEqualTo(1L << 47);
+        assertThat(masks.get(DAY.plusDays(1))).isEqualTo(1L);
+    }
+
+    @Test
+    void tryReserve_rejectsOverlap_andAcceptsAdjacentRanges() {
+        var slots = new SlotBitmap();
+
+        assertThat(slots.tryReserve(5L, at(10, 0), at(11, 0))).isTrue();
+        assertThat(slots.tryReserve(5L, at(10, 30), at(11, 30))).isFalse();
+        assertThat(slots.tryReserve(5L, at(11, 0), at(12, 0))).isTrue();
+        assertThat(slots.tryReserve(6L, at(10, 30), at(11, 30))).isTrue();
+    }
+
+    @Test
+    void tryReserve_claimsNothing_whenSecondDayConflicts() {
+        var slots = new SlotBitmap();
+        slots.occupy(5L, DAY.plusDays(1).atStartOfDay(), DAY.plusDays(1).atTime(0, 30));
+
+        assertThat(slots.tryReserve(5L, DAY.atTime(23, 0), DAY.plusDays(1).atTime(0, 30))).isFalse();
+        assertThat(slots.occupied(5L, DAY)).isZero();
+    }
+
+    @Test
+    void release_freesSlots() {
+        var slots = new SlotBitmap();
+        slots.tryReserve(5L, at(10, 0), at(11, 0));
+
+        slots.release(5L, at(10, 0), at(11, 0));
+
+        assertThat(slots.occupied(5L, DAY)).isZero();
+        assertThat(slots.tryReserve(5L, at(10, 0), at(11, 0))).isTrue();
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+}
@@ -0,0 +1,67 @@
+package com.mykulle.booking.system.reservation.booking.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void advance_firesEntriesOnlyOnceDue_inDeadlineOrder() {
+        var wheel = new TimingWheel<String>(Duration.ofSeconds(1), START);
+        wheel.schedule("late", START + 5_000);
+        wheel.schedule("early", START + 2_000);
+
+        assertThat(wheel.advance(START + 1_999)).isEmpty();
+        assertThat(wheel.advance(START + 2_000)).containsExactly("early");
+        assertThat(wheel.advance(START + 10_000)).containsExactly("late");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_roundsDeadlinesUpToTheNextTick() {
+        var wheel = new TimingWheel<String>(Duration.ofSeconds(1), START);
+        wheel.schedule("entry", START + 1_500);
+
+        assertThat(wheel.advance(START + 1_000)).isEmpty();
+        assertThat(wheel.advance(START + 2_000)).containsExactly("entry");
+    }
+
+    @Test
+    void advance_cascadesEntriesFromHigherLevels() {
+        var wheel = new TimingWheel<String>(Duration.ofSeconds(1), START);
+        var inTwoHours = START + Duration.ofHours(2).toMillis();
+        var inTwoDays = START + Duration.ofDays(2).toMillis();
+        wheel.schedule("two-days", inTwoDays);
+        wheel.schedule("two-hours", inTwoHours);
+
+        for (var now = START; now < inTwoHours; now += 1_000) {
+            assertThat(wheel.advance(now)).isEmpty();
+        }
+        assertThat(wheel.advance(inTwoHours)).containsExactly("two-hours");
+        assertThat(wheel.advance(inTwoDays - 1)).isEmpty();
+        assertThat(wheel.advance(inTwoDays)).containsExactly("two-days");
+    }
+
+    @Test
+    void advance_holdsDeadlinesBeyondTheTopLevel() {
+        var wheel = new TimingWheel<String>(Duration.ofMillis(1), START);
+        var farAway = START + Duration.ofDays(400).toMillis();
+        wheel.schedule("far", farAway);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(START + 1_000)).isEmpty();
+    }
+
+    @Test
+    void schedule_firesPastDeadlinesOnNextAdvance() {
+        var wheel = new TimingWheel<String>(Duration.ofSeconds(1), START);
+        wheel.schedule("overdue", START - 60_000);
+
+        assertThat(wheel.advance(START)).containsExactly("overdue");
+    }
+}
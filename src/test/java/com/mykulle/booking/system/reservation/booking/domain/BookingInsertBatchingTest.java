@@ -0,0 +1,70 @@
+package com.mykulle.booking.system.reservation.booking.domain;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the JDBC statements Hibernate prepares for bulk booking inserts.
+ * With identity ids every booking was its own INSERT (20 statements for 20 bookings);
+ * with pooled sequence ids the whole batch costs one sequence call and one batched INSERT.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batchingtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BookingInsertBatchingTest {
+
+    private static final int BOOKINGS = 20;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private JwtDecoder jwtDecoder;
+
+    @Test
+    void saveAll_insertsSeriesWithOneBatchedStatement() {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var start = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+        var seriesId = UUID.randomUUID();
+        var bookings = IntStream.range(0, BOOKINGS)
+                .mapToObj(week -> new Booking(
+                        900L,
+                        "staff-1",
+                        new Booking.TimeRange(start.plusWeeks(week), start.plusWeeks(week).plusMinutes(60)),
+                        seriesId
+                ))
+                .toList();
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> bookingRepository.saveAll(bookings));
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(BOOKINGS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(bookings).extracting(Booking::getId).doesNotContainNull().doesNotHaveDuplicates();
+    }
+}
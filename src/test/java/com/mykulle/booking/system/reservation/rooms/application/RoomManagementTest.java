@@ -3,18 +3,28 @@ package com.mykulle.booking.system.reservation.rooms.application;
 import com.mykulle.booking.system.catalog.RoomCatalogEvent;
 import com.mykulle.booking.system.reservation.rooms.domain.Room;
 import com.mykulle.booking.system.reservation.rooms.domain.RoomRepository;
+import com.mykulle.booking.system.shared.coherence.CacheCoherence;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class RoomManagementTest {
@@ -22,79 +32,137 @@ class RoomManagementTest {
     @Mock
     private RoomRepository rooms;
 
-    @InjectMocks
+    @Mock
+    private CacheCoherence coherence;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private RoomManagement roomManagement;
 
+    @BeforeEach
+    void setUp() {
+        roomManagement = new RoomManagement(rooms, coherence, transactionManager, 500);
+    }
+
     @Test
-    void onRoomAddedToCatalog_createsRoom_whenMissing() {
-        var event = new RoomCatalogEvent.RoomAddedToCatalog(
+    void roomAddedToCatalog_upsertsRoom_onFlush() {
+        var applied = roomManagement.submit(new RoomCatalogEvent.RoomAddedToCatalog(
                 11L,
                 "Focus Room",
                 "LIB-03-12",
                 "STUDY_ROOM",
                 "ENABLED"
-        );
+        ));
+        assertThat(applied).isNotDone();
+
+        roomManagement.flush();
+
+        assertThat(applied).isCompleted();
+        var saved = upserted();
+        assertThat(saved).hasSize(1);
+        var room = saved.getFirst();
+        assertThat(room.getRoomId()).isEqualTo(11L);
+        assertThat(room.getProfile().name()).isEqualTo("Focus Room");
+        assertThat(room.getProfile().roomLocation().value()).isEqualTo("LIB-03-12");
+        assertThat(room.getProfile().roomType()).isEqualTo("STUDY_ROOM");
+        assertThat(room.isEnabled()).isTrue();
+    }
 
-        when(rooms.findById(11L)).thenReturn(Optional.empty());
+    @Test
+    void listeners_returnWithoutWaiting_andAreCompletedByOneBatch() {
+        var publications = LongStream.rangeClosed(1, 50)
+                .mapToObj(roomId -> roomManagement.on(new RoomCatalogEvent.RoomOperationalStatusChanged(roomId, "DISABLED")))
+                .toList();
+        assertThat(publications).noneMatch(CompletableFuture::isDone);
+
+        roomManagement.flush();
+
+        assertThat(publications).allMatch(applied -> applied.isDone() && !applied.isCompletedExceptionally());
+        ArgumentCaptor<Map<Long, String>> statuses = ArgumentCaptor.captor();
+        verify(rooms).updateOperationalStatuses(statuses.capture());
+        assertThat(statuses.getValue()).hasSize(50);
+    }
 
-        roomManagement.on(event);
+    @Test
+    void repeatedChangesOfOneRoom_collapseIntoOneWrite() {
+        roomManagement.submit(new RoomCatalogEvent.RoomAddedToCatalog(11L, "Focus Room", "LIB-03-12", "STUDY_ROOM", "ENABLED"));
+        roomManagement.submit(new RoomCatalogEvent.RoomOperationalStatusChanged(11L, "DISABLED"));
+        roomManagement.submit(new RoomCatalogEvent.RoomOperationalStatusChanged(11L, "ENABLED"));
+        roomManagement.submit(new RoomCatalogEvent.RoomOperationalStatusChanged(12L, "ENABLED"));
+        roomManagement.submit(new RoomCatalogEvent.RoomOperationalStatusChanged(12L, "DISABLED"));
+
+        roomManagement.flush();
+
+        assertThat(upserted()).singleElement().satisfies(room -> {
+            assertThat(room.getRoomId()).isEqualTo(11L);
+            assertThat(room.isEnabled()).isTrue();
+        });
+        verify(rooms).updateOperationalStatuses(Map.of(12L, "DISABLED"));
+    }
 
-        var captor = ArgumentCaptor.forClass(Room.class);
-        verify(rooms).save(captor.capture());
+    @Test
+    void roomRemovedFromCatalog_deletesInBatch_andWinsOverEarlierChanges() {
+        roomManagement.submit(new RoomCatalogEvent.RoomOperationalStatusChanged(25L, "DISABLED"));
+        roomManagement.submit(new RoomCatalogEvent.RoomRemovedFromCatalog(25L));
+
+        roomManagement.flush();
 
-        var saved = captor.getValue();
-        assertThat(saved.getRoomId()).isEqualTo(11L);
-        assertThat(saved.getProfile().name()).isEqualTo("Focus Room");
-        assertThat(saved.getProfile().roomLocation().value()).isEqualTo("LIB-03-12");
-        assertThat(saved.getProfile().roomType()).isEqualTo("STUDY_ROOM");
-        assertThat(saved.isEnabled()).isTrue();
+        verify(rooms).deleteAllByIdInBatch(List.of(25L));
+        verify(rooms).updateOperationalStatuses(Map.of());
     }
 
     @Test
-    void onRoomAddedToCatalog_updatesRoom_whenExisting() {
-        var existing = new Room(
-                11L,
-                new Room.RoomProfile("Old Room", new Room.RoomLocation("LIB-03-01"), "MEETING_ROOM"),
-                "DISABLED"
-        );
+    void roomsImportedToCatalog_areAppliedWithOneUpsert() {
+        var applied = roomManagement.submit(new RoomCatalogEvent.RoomsImportedToCatalog(List.of(
+                new RoomCatalogEvent.RoomAddedToCatalog(11L, "Focus Room", "LIB-03-12", "STUDY_ROOM", "ENABLED"),
+                new RoomCatalogEvent.RoomAddedToCatalog(12L, "Quiet Room", "LIB-03-13", "STUDY_ROOM", "ENABLED")
+        )));
+
+        roomManagement.flush();
+
+        assertThat(applied).isCompleted();
+        assertThat(upserted()).extracting(Room::getRoomId).containsExactly(11L, 12L);
+        verify(coherence).publish(RoomManagement.COHERENCE_REGION, "11");
+        verify(coherence).publish(RoomManagement.COHERENCE_REGION, "12");
+        assertThat(roomManagement.lagMillis()).isZero();
+    }
 
-        when(rooms.findById(11L)).thenReturn(Optional.of(existing));
+    @Test
+    void failedBatch_failsWaitingListeners() {
+        doThrow(new IllegalStateException("database down")).when(rooms).updateOperationalStatuses(anyMap());
+        var applied = roomManagement.submit(new RoomCatalogEvent.RoomOperationalStatusChanged(11L, "DISABLED"));
 
-        roomManagement.on(new RoomCatalogEvent.RoomAddedToCatalog(
-                11L,
-                "Focus Room",
-                "LIB-03-12",
-                "STUDY_ROOM",
-                "ENABLED"
-        ));
+        roomManagement.flush();
 
-        verify(rooms).save(existing);
-        assertThat(existing.getProfile().name()).isEqualTo("Focus Room");
-        assertThat(existing.getProfile().roomLocation().value()).isEqualTo("LIB-03-12");
-        assertThat(existing.getProfile().roomType()).isEqualTo("STUDY_ROOM");
-        assertThat(existing.isEnabled()).isTrue();
+        assertThat(applied).isCompletedExceptionally();
+        verify(rooms, never()).deleteAllByIdInBatch(any());
     }
 
     @Test
-    void onRoomOperationalStatusChanged_updatesStatus_whenRoomExists() {
-        var existing = new Room(
-                11L,
-                new Room.RoomProfile("Focus Room", new Room.RoomLocation("LIB-03-12"), "STUDY_ROOM"),
-                "ENABLED"
-        );
-
-        when(rooms.findById(11L)).thenReturn(Optional.of(existing));
+    void failedCommit_leavesPublicationIncomplete() {
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(any());
+        var applied = roomManagement.on(new RoomCatalogEvent.RoomOperationalStatusChanged(11L, "DISABLED"));
 
-        roomManagement.on(new RoomCatalogEvent.RoomOperationalStatusChanged(11L, "DISABLED"));
+        roomManagement.flush();
 
-        verify(rooms).save(existing);
-        assertThat(existing.isDisabled()).isTrue();
+        assertThat(applied).isCompletedExceptionally();
     }
 
     @Test
-    void onRoomRemovedFromCatalog_deletesById() {
-        roomManagement.on(new RoomCatalogEvent.RoomRemovedFromCatalog(25L));
+    void shutdown_appliesQueuedChanges() {
+        var applied = roomManagement.on(new RoomCatalogEvent.RoomRemovedFromCatalog(25L));
+
+        roomManagement.destroy();
+
+        assertThat(applied).isCompleted();
+        verify(rooms).deleteAllByIdInBatch(List.of(25L));
+        assertThat(roomManagement.lagMillis()).isZero();
+    }
 
-        verify(rooms).deleteById(25L);
+    private List<Room> upserted() {
+        ArgumentCaptor<Collection<Room>> captor = ArgumentCaptor.captor();
+        verify(rooms).upsertAll(captor.capture());
+        return List.copyOf(captor.getValue());
     }
 }
@@ -0,0 +1,75 @@
+package com.mykulle.booking.system.shared.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Test
+    void closingConnection_returnsPermitOnce() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        var dataSource = new ConcurrencyLimitedDataSource(target, 1, 0, 10);
+
+        var first = dataSource.getConnection();
+        assertThat(dataSource.activeConnections()).isEqualTo(1);
+        first.close();
+        first.close();
+
+        verify(connection).close();
+        assertThat(dataSource.activeConnections()).isZero();
+        dataSource.getConnection().close();
+    }
+
+    @Test
+    void callerBeyondLimit_failsAfterTimeout() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        var dataSource = new ConcurrencyLimitedDataSource(target, 1, 1, 10);
+
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("within 10 ms");
+        assertThat(dataSource.waitingCallers()).isZero();
+    }
+
+    @Test
+    void callerBeyondWaitingLimit_isRejectedAtOnce() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        var dataSource = new ConcurrencyLimitedDataSource(target, 1, 0, 60_000);
+
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Too many callers");
+    }
+
+    @Test
+    void failingTarget_returnsPermit() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        var dataSource = new ConcurrencyLimitedDataSource(target, 1, 0, 10);
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThat(dataSource.activeConnections()).isZero();
+    }
+}